@@ -0,0 +1,44 @@
+package algorithms;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected on the command line (standard JMH options) with the GC profiler attached,
+ * so every result also reports the allocation rate per operation. The listing and help options (-l, -lp, -lprof,
+ * -lrf, -h) are handled as org.openjdk.jmh.Main handles them, without running anything.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+        if (cmd.shouldListProfilers()) {
+            cmd.listProfilers();
+            return;
+        }
+        if (cmd.shouldListResultFormats()) {
+            cmd.listResultFormats();
+            return;
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(cmd)
+                .addProfiler(GCProfiler.class)
+                .build();
+        Runner runner = new Runner(options);
+        if (cmd.shouldList()) {
+            runner.list();
+        } else if (cmd.shouldListWithParams()) {
+            runner.listWithParams(cmd);
+        } else {
+            runner.run();
+        }
+    }
+}
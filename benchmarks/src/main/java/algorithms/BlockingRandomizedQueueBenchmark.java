@@ -0,0 +1,104 @@
+package algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two producers feeding two consumers through a bounded shuffle buffer: the striped BlockingRandomizedQueue against
+ * an ArrayBlockingQueue whose producers shuffle their items in batches before putting them.
+ * <p>
+ * All calls time out after a millisecond, so no thread is left blocked when the other side of its group stops at
+ * the end of an iteration.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockingRandomizedQueueBenchmark {
+    private static final Integer ITEM = 42;
+    private static final int BATCH = 256;       // items a producer shuffles at a time for the ArrayBlockingQueue
+
+    @Param({"1024"})
+    private int capacity;
+
+    private BlockingRandomizedQueue<Integer> striped;
+    private ArrayBlockingQueue<Integer> arrayBlocking;
+
+    // the producer's current shuffled batch
+    @State(Scope.Thread)
+    public static class Batch {
+        final Integer[] items = new Integer[BATCH];
+        int next = BATCH;
+
+        public Batch() {
+            for (int i = 0; i < BATCH; i++) {
+                items[i] = i;
+            }
+        }
+
+        Integer next() {
+            if (next == BATCH) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = BATCH - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    Integer swap = items[i];
+                    items[i] = items[j];
+                    items[j] = swap;
+                }
+                next = 0;
+            }
+            return items[next++];
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        striped = new BlockingRandomizedQueue<>(capacity);
+        arrayBlocking = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Benchmark
+    @Group("striped")
+    @GroupThreads(2)
+    public boolean stripedPut() throws InterruptedException {
+        return striped.offer(ITEM, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("striped")
+    @GroupThreads(2)
+    public Integer stripedTake() throws InterruptedException {
+        return striped.poll(1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingShuffled")
+    @GroupThreads(2)
+    public boolean arrayBlockingPut(Batch batch) throws InterruptedException {
+        return arrayBlocking.offer(batch.next(), 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingShuffled")
+    @GroupThreads(2)
+    public Integer arrayBlockingTake() throws InterruptedException {
+        return arrayBlocking.poll(1, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,86 @@
+package algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The four collinear-point detectors on the same input: n distinct random points in the assignment's
+ * [0, 32767] square, a quarter of them planted on lines of 4 to 8 points. The O(n^4) brute force is included to
+ * show the gap; expect it to dominate the run time at the larger size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollinearPointsBenchmark {
+    private static final int RANGE = 32768;
+
+    @Param({"100", "300"})
+    private int n;
+
+    private Point[] points;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Set<Long> seen = new HashSet<>();
+        points = new Point[n];
+        int count = 0;
+        while (count < n) {
+            if (count < n / 4) {
+                // a line of 4 to 8 points through a random point, with a small random step
+                int x = random.nextInt(RANGE);
+                int y = random.nextInt(RANGE);
+                int dx = random.nextInt(201) - 100;
+                int dy = random.nextInt(201) - 100;
+                for (int k = 4 + random.nextInt(5); k > 0 && count < n; k--, x += dx, y += dy) {
+                    if (x >= 0 && x < RANGE && y >= 0 && y < RANGE && seen.add((long) x << 32 | y)) {
+                        points[count++] = new Point(x, y);
+                    }
+                }
+            } else {
+                int x = random.nextInt(RANGE);
+                int y = random.nextInt(RANGE);
+                if (seen.add((long) x << 32 | y)) {
+                    points[count++] = new Point(x, y);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public LineSegment[] brute() {
+        return new BruteCollinearPoints(points).segments();
+    }
+
+    @Benchmark
+    public LineSegment[] fast() {
+        return new FastCollinearPoints(points).segments();
+    }
+
+    @Benchmark
+    public LineSegment[] packed() {
+        return new PackedCollinearPoints(points).segments();
+    }
+
+    @Benchmark
+    public LineSegment[] hash() {
+        return new HashCollinearPoints(points).segments();
+    }
+}
@@ -0,0 +1,120 @@
+package algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * open / isFull / percolates of both percolation engines, with sites opened row by row or in random order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PercolationBenchmark {
+
+    public enum Engine { PERCOLATION, FLAT }
+
+    public enum Order { SEQUENTIAL, RANDOM }
+
+    @Param({"200", "2000"})
+    private int n;
+
+    @Param({"PERCOLATION", "FLAT"})
+    private Engine engine;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    private Order order;
+
+    private int[] rows;                 // every site once, in opening order
+    private int[] cols;
+    private PercolationModel half;      // system with the first half of the sites opened, for the queries
+
+    // a fresh system for every invocation of the open benchmarks
+    @State(Scope.Thread)
+    public static class Empty {
+        private PercolationModel system;
+
+        @Setup(Level.Invocation)
+        public void newSystem(PercolationBenchmark benchmark) {
+            system = benchmark.create();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = new int[n * n];
+        cols = new int[n * n];
+        for (int site = 0; site < n * n; site++) {
+            rows[site] = site / n + 1;
+            cols[site] = site % n + 1;
+        }
+        if (order == Order.RANDOM) {
+            Random random = new Random(42);
+            for (int i = rows.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int row = rows[i];
+                int col = cols[i];
+                rows[i] = rows[j];
+                cols[i] = cols[j];
+                rows[j] = row;
+                cols[j] = col;
+            }
+        }
+        half = create();
+        for (int i = 0; i < rows.length / 2; i++) {
+            half.open(rows[i], cols[i]);
+        }
+    }
+
+    private PercolationModel create() {
+        return engine == Engine.FLAT ? new FlatPercolation(n) : new Percolation(n);
+    }
+
+    @Benchmark
+    public int openAll(Empty empty) {
+        empty.system.openAll(rows, cols);
+        return empty.system.numberOfOpenSites();
+    }
+
+    @Benchmark
+    public int openUntilPercolates(Empty empty) {
+        PercolationModel system = empty.system;
+        int k = 0;
+        while (!system.percolates()) {
+            system.open(rows[k], cols[k]);
+            k++;
+        }
+        return k;
+    }
+
+    @Benchmark
+    public void isFullScan(Blackhole blackhole) {
+        for (int row = 1; row <= n; row++) {
+            for (int col = 1; col <= n; col++) {
+                blackhole.consume(half.isFull(row, col));
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean percolates() {
+        return half.percolates();
+    }
+}
@@ -0,0 +1,43 @@
+package algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end threshold estimates: the sequential StdRandom/Percolation path against the seeded parallel path.
+ * Each run is long enough to be timed one shot at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PercolationStatsBenchmark {
+
+    @Param({"200", "2000", "10000"})
+    private int n;
+
+    @Param({"4"})
+    private int trials;
+
+    @Benchmark
+    public double sequential() {
+        return new PercolationStats(n, trials).mean();
+    }
+
+    @Benchmark
+    public double parallel() {
+        return new PercolationStats(n, trials, 42L).mean();
+    }
+}
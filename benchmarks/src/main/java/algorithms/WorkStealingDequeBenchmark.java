@@ -0,0 +1,73 @@
+package algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One owner pushing and popping at the bottom while three thieves steal from the top: the lock-free
+ * WorkStealingDeque against a Deque behind a single global lock.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkStealingDequeBenchmark {
+    private static final Integer ITEM = 42;
+    private static final int BOUND = 1024;      // the owner pops instead of pushing beyond this size
+
+    private final WorkStealingDeque<Integer> workStealing = new WorkStealingDeque<>();
+    private final Deque<Integer> locked = new Deque<>();
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public Integer workStealingOwner() {
+        if (workStealing.size() < BOUND) {
+            workStealing.push(ITEM);
+            workStealing.push(ITEM);
+        }
+        return workStealing.pop();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(3)
+    public Integer workStealingThief() {
+        return workStealing.steal();
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public Integer lockedOwner() {
+        synchronized (locked) {
+            if (locked.size() < BOUND) {
+                locked.addLast(ITEM);
+                locked.addLast(ITEM);
+            }
+            return locked.isEmpty() ? null : locked.removeLast();
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(3)
+    public Integer lockedThief() {
+        synchronized (locked) {
+            return locked.isEmpty() ? null : locked.removeFirst();
+        }
+    }
+}
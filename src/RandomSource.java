@@ -0,0 +1,62 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A source of uniformly random numbers, injected into the classes that used to share the static,
+ * synchronized {@code StdRandom}.
+ * <p>
+ * {@link #threadLocal()} is the default: every thread draws from its own {@link ThreadLocalRandom}, so threads
+ * never contend. {@link #seeded(long)} gives a reproducible stream for one instance; it is backed by a
+ * {@link SplittableRandom} and must not be shared between threads.
+ */
+public interface RandomSource {
+
+    // uniformly random int in [0, n)
+    int uniform(int n);
+
+    // uniformly random long in [0, n)
+    long uniform(long n);
+
+    // uniformly random double in [0, 1)
+    double uniform();
+
+    // uniformly random int in [a, b)
+    default int uniform(int a, int b) {
+        return a + uniform(b - a);
+    }
+
+    // draws from the ThreadLocalRandom of the calling thread; safe to share between threads
+    static RandomSource threadLocal() {
+        return new RandomSource() {
+            public int uniform(int n) {
+                return ThreadLocalRandom.current().nextInt(n);
+            }
+
+            public long uniform(long n) {
+                return ThreadLocalRandom.current().nextLong(n);
+            }
+
+            public double uniform() {
+                return ThreadLocalRandom.current().nextDouble();
+            }
+        };
+    }
+
+    // reproducible stream determined by seed; confine it to one thread
+    static RandomSource seeded(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return new RandomSource() {
+            public int uniform(int n) {
+                return random.nextInt(n);
+            }
+
+            public long uniform(long n) {
+                return random.nextLong(n);
+            }
+
+            public double uniform() {
+                return random.nextDouble();
+            }
+        };
+    }
+}
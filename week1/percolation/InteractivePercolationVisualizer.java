@@ -1,8 +1,7 @@
-package week1.percolation;
 /******************************************************************************
  *  Compilation:  javac InteractivePercolationVisualizer.java
  *  Execution:    java InteractivePercolationVisualizer n
- *  Dependencies: PercolationVisualizer.java Percolation.java
+ *  Dependencies: PercolationVisualizer.java FlatPercolation.java
  *                StdDraw.java StdOut.java
  *
  *  This program takes the grid size n as a command-line argument.
@@ -14,7 +13,6 @@ package week1.percolation;
 
 import edu.princeton.cs.algs4.StdDraw;
 import edu.princeton.cs.algs4.StdOut;
-import week1.src.Percolation;
 
 public class InteractivePercolationVisualizer {
 
@@ -27,8 +25,8 @@ public class InteractivePercolationVisualizer {
         StdOut.println(n);
 
         StdDraw.enableDoubleBuffering();
-        Percolation perc = new Percolation(n);
-        PercolationVisualizer.draw(perc, n);
+        FlatPercolation perc = new FlatPercolation(n);
+        new PercolationVisualizer.Drawer(perc, n);
         StdDraw.show();
 
         while (true) {
@@ -52,8 +50,7 @@ public class InteractivePercolationVisualizer {
                     perc.open(i, j);
                 }
 
-                // draw n-by-n percolation system
-                PercolationVisualizer.draw(perc, n);
+                // the drawer has already redrawn the sites that changed
                 StdDraw.show();
             }
 
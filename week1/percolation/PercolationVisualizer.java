@@ -1,8 +1,7 @@
-package week1.percolation;
 /******************************************************************************
  *  Compilation:  javac PercolationVisualizer.java
  *  Execution:    java PercolationVisualizer input.txt
- *  Dependencies: Percolation.java
+ *  Dependencies: FlatPercolation.java PercolationListener.java
  *
  *  This program takes the name of a file as a command-line argument.
  *  From that file, it
@@ -15,11 +14,15 @@ package week1.percolation;
  *  open sites (that aren't full) in white, and blocked sites in black,
  *  with with site (1, 1) in the upper left-hand corner.
  *
+ *  Only the sites reported by the percolation listener are redrawn,
+ *  so each step costs time proportional to the sites that changed.
+ *
  ******************************************************************************/
 
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.StdDraw;
-import week1.src.Percolation;
+
+import java.awt.Color;
+import java.awt.Font;
 
 public class PercolationVisualizer {
 
@@ -27,7 +30,7 @@ public class PercolationVisualizer {
     private static final int DELAY = 100;
 
     // draw n-by-n percolation system
-    public static void draw(Percolation perc, int n) {
+    public static void draw(PercolationModel perc, int n) {
         StdDraw.clear();
         StdDraw.setPenColor(StdDraw.BLACK);
         StdDraw.setXscale(-0.05*n, 1.05*n);
@@ -61,23 +64,68 @@ public class PercolationVisualizer {
 
     }
 
+    // redraws only the sites reported by the percolation system
+    public static class Drawer implements PercolationListener {
+        private final int n;
+        private int opened;
+        private boolean percolates;
+
+        // draw the status of perc in full once, then keep it up to date from its events
+        public Drawer(FlatPercolation perc, int n) {
+            this.n = n;
+            draw(perc, n);
+            opened = perc.numberOfOpenSites();
+            percolates = perc.percolates();
+            perc.setListener(this);
+        }
+
+        public void siteOpened(int row, int col) {
+            opened++;
+            drawSite(row, col, StdDraw.WHITE);
+            drawStatus();
+        }
+
+        public void siteFull(int row, int col) {
+            drawSite(row, col, StdDraw.BOOK_LIGHT_BLUE);
+        }
+
+        public void percolated(int openSites) {
+            percolates = true;
+            drawStatus();
+        }
+
+        private void drawSite(int row, int col, Color color) {
+            StdDraw.setPenColor(color);
+            StdDraw.filledSquare(col - 0.5, n - row + 0.5, 0.45);
+        }
+
+        private void drawStatus() {
+            StdDraw.setPenColor(StdDraw.WHITE);
+            StdDraw.filledRectangle(n/2.0, -0.025*n, 0.55*n, 0.025*n);
+            StdDraw.setFont(new Font("SansSerif", Font.PLAIN, 12));
+            StdDraw.setPenColor(StdDraw.BLACK);
+            StdDraw.text(0.25*n, -0.025*n, opened + " open sites");
+            if (percolates) StdDraw.text(0.75*n, -0.025*n, "percolates");
+            else            StdDraw.text(0.75*n, -0.025*n, "does not percolate");
+        }
+    }
+
     public static void main(String[] args) {
-        In in = new In(args[0]);      // input file
+        FastIn in = new FastIn(args[0]);      // input file
         int n = in.readInt();         // n-by-n percolation system
 
         // turn on animation mode
         StdDraw.enableDoubleBuffering();
 
-        // repeatedly read in sites to open and draw resulting system
-        Percolation perc = new Percolation(n);
-        draw(perc, n);
+        // repeatedly read in sites to open and draw the sites that changed
+        FlatPercolation perc = new FlatPercolation(n);
+        new Drawer(perc, n);
         StdDraw.show();
         StdDraw.pause(DELAY);
         while (!in.isEmpty()) {
             int i = in.readInt();
             int j = in.readInt();
             perc.open(i, j);
-            draw(perc, n);
             StdDraw.show();
             StdDraw.pause(DELAY);
         }
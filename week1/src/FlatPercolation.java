@@ -0,0 +1,268 @@
+import java.util.Arrays;
+
+/**
+ * A percolation engine that keeps the whole system in flat primitive arrays. The sites are laid out by a
+ * {@link Lattice}: n-by-n by default, or any rectangular, layered or periodic lattice.
+ * <p>
+ * It uses a single path-compressed union-find without virtual top/bottom sites: every component root carries
+ * "touches top" and "touches bottom" flags instead, which avoids backwash and makes {@link #percolates()} O(1).
+ * Union by rank in a byte array and a bitset of open sites bring memory down to about 6 bytes per site, against
+ * about 10 for {@link Percolation} and 17 for the classic two union-find layout.
+ * <p>
+ * A {@link PercolationListener} can be attached to be told about opened and newly full sites and about the first
+ * time the system percolates. Full sites are then also tracked in a bitset, each one found once by a flood fill, so
+ * the listener costs O(1) amortized per site; without a listener no extra work is done.
+ */
+public class FlatPercolation implements PercolationModel {
+    private static final byte TOP = 1;          // component contains a site of the first row
+    private static final byte BOTTOM = 2;       // component contains a site of the last row
+
+    private final Lattice lattice;
+    private final int[] parent;                 // parent[i] = parent of open site i
+    private final byte[] rank;                  // rank[i] = rank of subtree rooted at i (never more than 31)
+    private final byte[] edges;                 // edges[i] = TOP/BOTTOM flags of the component rooted at i
+    private final long[] open;                  // bitset of open sites
+    private final int[] adjacent = new int[6];  // neighbours of the site being opened or flooded
+    private int count;
+    private boolean percolates;
+
+    private PercolationListener listener;       // null if nobody listens
+    private long[] full;                        // bitset of full sites, only maintained for the listener
+    private int[] stack;                        // flood fill work list
+
+    // create n-by-n grid, with all sites blocked
+    public FlatPercolation(int n) {
+        this(checkSize(n));
+    }
+
+    // create a system on the given lattice, with all sites blocked
+    public FlatPercolation(Lattice lattice) {
+        this.lattice = lattice;
+        int sites = lattice.size();
+        parent = new int[sites];
+        rank = new byte[sites];
+        edges = new byte[sites];
+        open = new long[(sites + 63) >>> 6];
+    }
+
+    private static Lattice checkSize(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException();
+        }
+        return Lattice.square(n);
+    }
+
+    /**
+     * Attaches the listener that receives all later state changes, replacing the previous one.
+     * Sites that are already full when the listener is attached are not reported.
+     *
+     * @param listener the listener, or null to detach it
+     * @throws IllegalStateException if the lattice has more than one layer, as events only carry (row, col)
+     */
+    public void setListener(PercolationListener listener) {
+        if (lattice.depth() > 1 && listener != null) {
+            throw new IllegalStateException("listeners are only supported on planar lattices");
+        }
+        this.listener = listener;
+        if (listener == null) {
+            full = null;
+            stack = null;
+            return;
+        }
+        if (full == null) {
+            full = new long[open.length];
+            stack = new int[16];
+            for (int site = 0; lattice.isTop(site); site++) {
+                if (isOpen(site) && !isSet(full, site)) {
+                    flood(site, false);
+                }
+            }
+        }
+    }
+
+    // open site (row, col) of the first layer if it is not open already
+    public void open(int row, int col) {
+        open(row, col, 1);
+    }
+
+    // open site (row, col, layer) if it is not open already
+    public void open(int row, int col, int layer) {
+        openSite(index(row, col, layer));
+    }
+
+    // open the site with 0-based flat index site (see Lattice), skipping the bounds checks
+    void openSite(int site) {
+        if (isOpen(site)) {
+            return;
+        }
+        open[site >>> 6] |= 1L << site;
+        count++;
+        parent[site] = site;
+        byte flags = 0;
+        if (lattice.isTop(site)) flags |= TOP;
+        if (lattice.isBottom(site)) flags |= BOTTOM;
+        edges[site] = flags;
+
+        int degree = lattice.neighbors(site, adjacent);
+        boolean newTopComponent = listener != null && (flags & TOP) != 0 && !neighborTouchesTop(degree);
+        int root = site;
+        for (int i = 0; i < degree; i++) {
+            if (isOpen(adjacent[i])) {
+                root = union(root, adjacent[i]);
+            }
+        }
+        boolean percolatesNow = !percolates && edges[root] == (TOP | BOTTOM);
+        if (percolatesNow) {
+            percolates = true;
+        }
+
+        if (listener != null) {
+            int row = site / lattice.width();
+            int col = site - row * lattice.width();
+            listener.siteOpened(row + 1, col + 1);
+            if (newTopComponent) {
+                listener.topConnected(row + 1, col + 1);
+            }
+            if ((edges[root] & TOP) != 0) {
+                flood(site, true);
+            }
+            if (percolatesNow) {
+                listener.percolated(count);
+            }
+        }
+    }
+
+    // block all sites again, keeping the arrays (and the listener) for the next run
+    void clear() {
+        Arrays.fill(open, 0L);
+        Arrays.fill(rank, (byte) 0);
+        if (full != null) {
+            Arrays.fill(full, 0L);
+        }
+        count = 0;
+        percolates = false;
+    }
+
+    // is site (row, col) of the first layer open?
+    public boolean isOpen(int row, int col) {
+        return isOpen(row, col, 1);
+    }
+
+    // is site (row, col, layer) open?
+    public boolean isOpen(int row, int col, int layer) {
+        return isOpen(index(row, col, layer));
+    }
+
+    // is site (row, col) of the first layer full?
+    public boolean isFull(int row, int col) {
+        return isFull(row, col, 1);
+    }
+
+    // is site (row, col, layer) full?
+    public boolean isFull(int row, int col, int layer) {
+        int site = index(row, col, layer);
+        if (full != null) {
+            return isSet(full, site);
+        }
+        return isOpen(site) && isTopConnected(site);
+    }
+
+    // number of open sites
+    public int numberOfOpenSites() {
+        return count;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return percolates;
+    }
+
+    // the lattice the sites are laid out on
+    public Lattice lattice() {
+        return lattice;
+    }
+
+    // flat index of the 1-based site (row, col, layer)
+    private int index(int row, int col, int layer) {
+        if (row < 1 || row > lattice.height() || col < 1 || col > lattice.width()
+                || layer < 1 || layer > lattice.depth()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return lattice.site(row - 1, col - 1, layer - 1);
+    }
+
+    private boolean isOpen(int site) {
+        return isSet(open, site);
+    }
+
+    private static boolean isSet(long[] bits, int site) {
+        return (bits[site >>> 6] & (1L << site)) != 0;
+    }
+
+    private boolean isTopConnected(int site) {
+        return (edges[find(site)] & TOP) != 0;
+    }
+
+    // does one of the first degree entries of adjacent belong to an open component touching the top?
+    private boolean neighborTouchesTop(int degree) {
+        for (int i = 0; i < degree; i++) {
+            if (isOpen(adjacent[i]) && isTopConnected(adjacent[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // mark every open site reachable from the full site start as full, optionally reporting each one
+    private void flood(int start, boolean report) {
+        int width = lattice.width();
+        int size = 0;
+        full[start >>> 6] |= 1L << start;
+        stack[size++] = start;
+        while (size > 0) {
+            int site = stack[--size];
+            if (report) {
+                int row = site / width;
+                listener.siteFull(row + 1, site - row * width + 1);
+            }
+            if (size + adjacent.length > stack.length) {
+                stack = Arrays.copyOf(stack, 2 * stack.length);
+            }
+            int degree = lattice.neighbors(site, adjacent);
+            for (int i = 0; i < degree; i++) {
+                int next = adjacent[i];
+                if (isOpen(next) && !isSet(full, next)) {
+                    full[next >>> 6] |= 1L << next;
+                    stack[size++] = next;
+                }
+            }
+        }
+    }
+
+    // root of the component containing site, halving the path on the way up
+    private int find(int site) {
+        while (site != parent[site]) {
+            parent[site] = parent[parent[site]];
+            site = parent[site];
+        }
+        return site;
+    }
+
+    // merge the component rooted at root with the component containing site; returns the new root
+    private int union(int root, int site) {
+        int other = find(site);
+        if (other == root) {
+            return root;
+        }
+        if (rank[root] < rank[other]) {
+            int tmp = root;
+            root = other;
+            other = tmp;
+        } else if (rank[root] == rank[other]) {
+            rank[root]++;
+        }
+        parent[other] = root;
+        edges[root] |= edges[other];
+        return root;
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * The geometry of a percolation system: {@code depth} layers of width-by-height sites (a plain grid when the depth
+ * is 1), stored flat with the row as the outermost index, so each row of the system is one contiguous block of
+ * {@code width * depth} sites. Every site has up to 4 neighbours on a planar lattice and up to 6 on a layered one.
+ * <p>
+ * The system percolates when a component connects the first row to the last row. Periodic lattices wrap around in
+ * the column and layer directions; rows never wrap, as that would join the top to the bottom.
+ */
+public class Lattice {
+    private final int width;
+    private final int height;
+    private final int depth;
+    private final boolean periodic;
+    private final int rowSize;      // number of sites in one row (all layers)
+    private final int size;         // total number of sites
+
+    /**
+     * Initializes a lattice.
+     *
+     * @param width    the number of columns
+     * @param height   the number of rows, i.e. the extent in the percolation direction
+     * @param depth    the number of layers, 1 for a planar lattice
+     * @param periodic whether columns and layers wrap around
+     * @throws IllegalArgumentException if a dimension is not positive or there are more than
+     *                                  {@code Integer.MAX_VALUE} sites
+     */
+    public Lattice(int width, int height, int depth, boolean periodic) {
+        if (width < 1 || height < 1 || depth < 1) {
+            throw new IllegalArgumentException("lattice dimensions must be positive");
+        }
+        try {
+            this.rowSize = Math.multiplyExact(width, depth);
+            this.size = Math.multiplyExact(rowSize, height);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("too many sites", e);
+        }
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.periodic = periodic;
+    }
+
+    // n-by-n grid
+    public static Lattice square(int n) {
+        return new Lattice(n, n, 1, false);
+    }
+
+    // width-by-height grid
+    public static Lattice rectangular(int width, int height) {
+        return new Lattice(width, height, 1, false);
+    }
+
+    // n-by-n-by-n cube
+    public static Lattice cubic(int n) {
+        return new Lattice(n, n, n, false);
+    }
+
+    // the same lattice with wrap-around columns and layers
+    public Lattice periodic() {
+        return new Lattice(width, height, depth, true);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public boolean isPeriodic() {
+        return periodic;
+    }
+
+    // total number of sites
+    public int size() {
+        return size;
+    }
+
+    // flat index of the site at 0-based (row, col, layer)
+    public int site(int row, int col, int layer) {
+        return row * rowSize + layer * width + col;
+    }
+
+    // does the site lie in the first row?
+    public boolean isTop(int site) {
+        return site < rowSize;
+    }
+
+    // does the site lie in the last row?
+    public boolean isBottom(int site) {
+        return site >= size - rowSize;
+    }
+
+    /**
+     * Stores the flat indices of the neighbours of a site, each one once.
+     *
+     * @param site     the site
+     * @param adjacent receives the neighbours, must have room for 6 entries
+     * @return the number of neighbours stored
+     */
+    public int neighbors(int site, int[] adjacent) {
+        int row = site / rowSize;
+        int rest = site - row * rowSize;
+        int layer = rest / width;
+        int col = rest - layer * width;
+        int count = 0;
+        if (row > 0) adjacent[count++] = site - rowSize;
+        if (row < height - 1) adjacent[count++] = site + rowSize;
+
+        // with 2 columns (or layers) the wrapped neighbour is already the direct one
+        if (col > 0) adjacent[count++] = site - 1;
+        else if (periodic && width > 2) adjacent[count++] = site + width - 1;
+        if (col < width - 1) adjacent[count++] = site + 1;
+        else if (periodic && width > 2) adjacent[count++] = site - width + 1;
+
+        if (layer > 0) adjacent[count++] = site - width;
+        else if (periodic && depth > 2) adjacent[count++] = site + (depth - 1) * width;
+        if (layer < depth - 1) adjacent[count++] = site + width;
+        else if (periodic && depth > 2) adjacent[count++] = site - (depth - 1) * width;
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        String s = width + "x" + height;
+        if (depth > 1) s += "x" + depth;
+        return periodic ? s + " periodic" : s;
+    }
+}
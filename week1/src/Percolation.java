@@ -1,17 +1,20 @@
 import edu.princeton.cs.algs4.StdOut;
 import edu.princeton.cs.algs4.WeightedQuickUnionUF;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.Scanner;
+/**
+ * Percolation on an n-by-n grid backed by a single weighted quick-union.
+ * Instead of virtual top/bottom sites (and a second union-find to avoid backwash), every component root
+ * remembers whether the component touches the top and/or the bottom row.
+ */
+public class Percolation implements PercolationModel {
+    private static final byte TOP = 1;
+    private static final byte BOTTOM = 2;
 
-public class Percolation {
-
-    private WeightedQuickUnionUF ufUp;
-    private WeightedQuickUnionUF ufBoth;
+    private WeightedQuickUnionUF uf;
+    private byte[] edges;                           // edges[root] = TOP/BOTTOM flags of the component
     private int count;
     private boolean[][] open;
+    private boolean percolates;
     private int[] dx = new int[] {-1, 0, 1, 0};
     private int[] dy = new int[] {0, -1, 0, 1};
     private int n;
@@ -23,13 +26,8 @@ public class Percolation {
         }
         count = 0;
         open = new boolean[n][n];
-        ufUp = new WeightedQuickUnionUF(n*n);
-        ufBoth = new WeightedQuickUnionUF(n*n);
-        for (int i = 1; i < n; i++) {
-            ufUp.union(i-1, i);
-            ufBoth.union(i-1, i);
-            ufBoth.union(n*(n-1)+i-1, n*(n-1)+i);
-        }
+        uf = new WeightedQuickUnionUF(n*n);
+        edges = new byte[n*n];
     }
 
     public void open(int row, int col) {    		// open site (row, col) if it is not open already
@@ -39,16 +37,24 @@ public class Percolation {
         if (!open[row-1][col-1]) {
             count++;
             open[row-1][col-1] = true;
+            int site = (row-1)*n+col-1;
+            byte flags = 0;
+            if (row == 1) flags |= TOP;
+            if (row == n) flags |= BOTTOM;
             for (int i = 0; i < 4; i++) {
                 int x = row - 1 + dx[i];
                 int y = col - 1 + dy[i];
                 if (x >= 0 && x < n && y >= 0 && y < n) {
                     if (open[x][y]) {
-                        ufUp.union((row-1)*n+col-1, x*n+y);
-                        ufBoth.union((row-1)*n+col-1, x*n+y);
+                        flags |= edges[uf.find(x*n+y)];
+                        uf.union(site, x*n+y);
                     }
                 }
             }
+            edges[uf.find(site)] = flags;
+            if (flags == (TOP | BOTTOM)) {
+                percolates = true;
+            }
         }
     }
 
@@ -63,11 +69,7 @@ public class Percolation {
         if (row < 1 || row > n || col < 1 || col > n) {
             throw new IndexOutOfBoundsException();
         }
-        if (n < 2) {
-            return open[row-1][col-1];
-        } else {
-            return open[row-1][col-1] && ufUp.connected((row-1)*n+col-1, 0);
-        }
+        return open[row-1][col-1] && (edges[uf.find((row-1)*n+col-1)] & TOP) != 0;
     }
 
     public int numberOfOpenSites() {       			// number of open sites
@@ -75,35 +77,12 @@ public class Percolation {
     }
 
     public boolean percolates() {              		// does the system percolate?
-        if (n < 2) {
-            return open[0][0];
-        } else {
-            return ufBoth.connected(0, n*n-1);
-        }
+        return percolates;
     }
 
     public static void main(String[] args) {  		// test client (optional)
-        Scanner scanner = null;
-        try {
-            scanner = new Scanner(new File("percolation/input8.txt"));
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
-        ArrayList<int[]> nums = new ArrayList<>();
-        if (scanner.hasNextInt()) {
-            nums.add(new int[] {scanner.nextInt()});
-        }
-        while (scanner.hasNextInt()) {
-            int num1 = scanner.nextInt();
-            if (scanner.hasNextInt()) {
-                nums.add(new int[] {num1, scanner.nextInt()});
-            }
-        }
-        int n = nums.get(0)[0];
-        Percolation percolation = new Percolation(n);
-        for (int i = 1; i < nums.size(); i++) {
-            percolation.open(nums.get(i)[0], nums.get(i)[1]);
-        }
+        String filename = args.length > 0 ? args[0] : "percolation/input8.txt";
+        Percolation percolation = PercolationReader.read(filename, Percolation::new);
         StdOut.print(percolation.numberOfOpenSites()+" ");
         StdOut.print(percolation.percolates());
     }
@@ -0,0 +1,20 @@
+/**
+ * Receives the state changes of a {@link FlatPercolation} as they happen, so clients do not have to poll
+ * {@code isFull} or {@code percolates()} after every {@code open}. All sites are 1-based (row, col) pairs and every
+ * callback runs synchronously inside {@code open}.
+ */
+public interface PercolationListener {
+
+    // site (row, col) has just been opened
+    default void siteOpened(int row, int col) { }
+
+    // site (row, col) has just become full; reported exactly once per site
+    default void siteFull(int row, int col) { }
+
+    // opening site (row, col) in the first row created a component touching the top that contains
+    // no site which was full before
+    default void topConnected(int row, int col) { }
+
+    // the system percolates for the first time, after openSites sites were opened
+    default void percolated(int openSites) { }
+}
@@ -0,0 +1,31 @@
+/**
+ * The percolation API shared by the different percolation engines.
+ * Sites are addressed by 1-based (row, col) pairs, with site (1, 1) in the upper left-hand corner.
+ */
+public interface PercolationModel {
+
+    // open site (row, col) if it is not open already
+    void open(int row, int col);
+
+    // is site (row, col) open?
+    boolean isOpen(int row, int col);
+
+    // is site (row, col) full?
+    boolean isFull(int row, int col);
+
+    // number of open sites
+    int numberOfOpenSites();
+
+    // does the system percolate?
+    boolean percolates();
+
+    // open the sites (rows[i], cols[i]) in order
+    default void openAll(int[] rows, int[] cols) {
+        if (rows.length != cols.length) {
+            throw new IllegalArgumentException("rows and cols differ in length");
+        }
+        for (int i = 0; i < rows.length; i++) {
+            open(rows[i], cols[i]);
+        }
+    }
+}
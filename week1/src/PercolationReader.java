@@ -0,0 +1,36 @@
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Loads percolation input files (the grid size n followed by the (row, col) pairs of the sites to open) straight into
+ * a percolation engine. The file is parsed at byte level by a {@link FastIn}, so no object is allocated per site.
+ */
+public class PercolationReader {
+
+    private PercolationReader() { }
+
+    /**
+     * Creates the engine for the grid size found at the head of the file and opens every listed site in order.
+     * A trailing unpaired number is ignored.
+     *
+     * @param filename the input file
+     * @param factory  creates an engine for an n-by-n grid, e.g. {@code FlatPercolation::new}
+     * @return the engine with all sites of the file opened
+     */
+    public static <T extends PercolationModel> T read(String filename, IntFunction<T> factory) {
+        try (FastIn in = new FastIn(filename)) {
+            if (in.isEmpty()) {
+                throw new NoSuchElementException("no grid size in " + filename);
+            }
+            T percolation = factory.apply(in.readInt());
+            while (!in.isEmpty()) {
+                int row = in.readInt();
+                if (in.isEmpty()) {
+                    break;
+                }
+                percolation.open(row, in.readInt());
+            }
+            return percolation;
+        }
+    }
+}
@@ -1,55 +1,180 @@
-import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 public class PercolationStats {
-    private double[] experiments;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final int TRIALS_PER_THREAD = 4; // trials per thread in a batch, between two progress reports
+
+    private final RunningStats stats = new RunningStats();
+
     public PercolationStats(int n, int trials) {    // perform trials independent experiments on an n-by-n grid
+        this(n, trials, RandomSource.threadLocal());
+    }
+
+    // perform trials independent experiments on an n-by-n grid, drawing the sites to open from random
+    public PercolationStats(int n, int trials, RandomSource random) {
         if (n <= 0 || trials <= 0) {
             throw new IllegalArgumentException();
         }
-        experiments = new double[trials];
+        int[] order = new int[n*n];
         for (int i = 0; i < trials; i++) {
             Percolation percolation = new Percolation(n);
-            while (!percolation.percolates()) {
-                int row = StdRandom.uniform(n);
-                int col = StdRandom.uniform(n);
-                percolation.open(row+1, col+1);
+            resetOrder(order);
+            for (int k = 0; !percolation.percolates(); k++) {
+                int site = nextSite(order, k, random.uniform(k, order.length));
+                percolation.open(site/n + 1, site%n + 1);
+            }
+            stats.add((double) percolation.numberOfOpenSites()/(n*n));
+        }
+    }
+
+    // perform trials independent experiments in parallel on all available cores
+    public PercolationStats(int n, int trials, long seed) {
+        this(n, trials, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    // perform trials independent experiments in parallel on parallelism threads;
+    // trial i always draws from the same seeded generator, so results only depend on seed
+    public PercolationStats(int n, int trials, long seed, int parallelism) {
+        this(n, trials, seed, parallelism, 0.0);
+    }
+
+    // as above, but stop before trials experiments once the 95% confidence interval half-width
+    // drops to targetHalfWidth or below (0 never stops early)
+    public PercolationStats(int n, int trials, long seed, int parallelism, double targetHalfWidth) {
+        this(n, trials, seed, parallelism, targetHalfWidth, null);
+    }
+
+    // as above, and hand the interim statistics to progress (if not null) after every batch of trials;
+    // progress runs on the calling thread and must not modify them
+    public PercolationStats(int n, int trials, long seed, int parallelism, double targetHalfWidth,
+                            Consumer<RunningStats> progress) {
+        this(square(n), trials, seed, parallelism, targetHalfWidth, progress);
+    }
+
+    // perform trials independent experiments on the given (rectangular, cubic and/or periodic) lattice,
+    // with the same parallelism, reproducibility and early-stop rules as above
+    public PercolationStats(Lattice lattice, int trials, long seed, int parallelism, double targetHalfWidth,
+                            Consumer<RunningStats> progress) {
+        if (trials <= 0 || parallelism <= 0 || !(targetHalfWidth >= 0)) {
+            throw new IllegalArgumentException();
+        }
+        // results of a batch are added in trial order and the early stop is checked after each of them, so the
+        // statistics (and the number of trials) do not depend on the thread count. Per-thread partial RunningStats
+        // are deliberately not merged: the rounding of the merged sums would depend on how the trials were split
+        // among the threads, and the early stop could only be checked once per chunk
+        double[] batch = new double[(int) Math.min(trials, (long) parallelism * TRIALS_PER_THREAD)];
+        // a batch is split into one chunk per worker; chunk c always runs on workers[c], whose grid and order
+        // array are reused for all its trials, so at most parallelism lattices are ever allocated
+        int chunks = Math.min(parallelism, batch.length);
+        Worker[] workers = new Worker[chunks];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            boolean done = false;
+            for (int from = 0; from < trials && !done; from += batch.length) {
+                int first = from;
+                int size = Math.min(batch.length, trials - from);
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                    if (workers[c] == null) {
+                        workers[c] = new Worker(lattice);
+                    }
+                    for (int i = c; i < size; i += chunks) {
+                        batch[i] = workers[c].trial(RandomSource.seeded(trialSeed(seed, first + i)));
+                    }
+                })).join();
+                for (int i = 0; i < size && !done; i++) {
+                    stats.add(batch[i]);
+                    done = targetHalfWidth > 0 && stats.count() > 1 && stats.halfWidth() <= targetHalfWidth;
+                }
+                if (progress != null) {
+                    progress.accept(stats);
+                }
             }
-            experiments[i] = (double) percolation.numberOfOpenSites()/(n*n);
+        } finally {
+            pool.shutdown();
         }
     }
 
+    private static Lattice square(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException();
+        }
+        return Lattice.square(n);
+    }
+
+    // the grid and opening order one thread reuses for trial after trial
+    private static final class Worker {
+        private final FlatPercolation percolation;
+        private final int[] order;
+
+        Worker(Lattice lattice) {
+            percolation = new FlatPercolation(lattice);
+            order = new int[lattice.size()];
+        }
+
+        // run one experiment and return the fraction of open sites once the system percolates;
+        // the order is reset first, so the result only depends on random
+        double trial(RandomSource random) {
+            percolation.clear();
+            resetOrder(order);
+            for (int k = 0; !percolation.percolates(); k++) {
+                percolation.openSite(nextSite(order, k, random.uniform(k, order.length)));
+            }
+            return (double) percolation.numberOfOpenSites()/order.length;
+        }
+    }
+
+    // sites are opened in the order of a Fisher-Yates shuffle that is only carried out as far as needed,
+    // so every draw opens a new site
+    private static void resetOrder(int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+    }
+
+    // swap order[j] (j >= k) into position k and return it as the k-th site to open
+    private static int nextSite(int[] order, int k, int j) {
+        int site = order[j];
+        order[j] = order[k];
+        order[k] = site;
+        return site;
+    }
+
+    // seed of the generator used by trial i, decorrelated from its neighbours by the SplitMix64 finalizer
+    private static long trialSeed(long seed, int i) {
+        long z = seed + (i + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
     public double mean() {                          // sample mean of percolation threshold
-        double mean = StdStats.mean(experiments);
-        return mean;
+        return stats.mean();
     }
 
     public double stddev() {                        // sample standard deviation of percolation threshold
-        double dev = StdStats.stddev(experiments);
-        return dev;
+        return stats.stddev();
     }
 
     public double confidenceLo() {                  // low  endpoint of 95% confidence interval
-        double mean = this.mean();
-        double dev = this.stddev();
-        double t = experiments.length;
-        double low = mean - 1.96 * dev / Math.sqrt(t);
-        return low;
+        return stats.confidenceLo();
     }
 
     public double confidenceHi() {                  // high endpoint of 95% confidence interval
-        double mean = this.mean();
-        double dev = this.stddev();
-        double t = experiments.length;
-        double high = mean + 1.96 * dev / Math.sqrt(t);
-        return high;
+        return stats.confidenceHi();
+    }
+
+    public int trials() {                           // number of experiments actually performed
+        return (int) stats.count();
     }
 
     public static void main(String[] args) {        // test client (described below)
-        int input1 = StdIn.readInt();
-        int input2 = StdIn.readInt();
+        FastIn in = new FastIn();
+        int input1 = in.readInt();
+        int input2 = in.readInt();
         PercolationStats percolationStats = new PercolationStats(input1, input2);
         StdOut.printf("mean\t = %f\n", percolationStats.mean());
         StdOut.printf("stddev\t = %f\n", percolationStats.stddev());
@@ -0,0 +1,143 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+
+/**
+ * Estimates the percolation probability P(p) for a whole vector of site-open probabilities at once, following
+ * Newman and Ziff.
+ * <p>
+ * Giving every site an independent uniform weight and opening the sites with weight below p is the same as opening
+ * the sites in increasing weight order, i.e. in a uniformly random order, and stopping after Binomial(N, p) of them.
+ * So each trial only opens sites in random order until the system percolates and records the number of open sites
+ * c at that moment; the system is then known to percolate exactly when at least c sites are open. P(p) is the
+ * average over the trials of P[Binomial(N, p) >= c], so a full curve costs about as much as one threshold trial
+ * each, and all trials reuse the same grid.
+ */
+public class PercolationSweep {
+    private static final double WINDOW_SIGMAS = 12;     // binomial mass further out than this is negligible
+
+    private final int sites;
+    private final int[] critical;   // sorted number of open sites at which each trial first percolated
+
+    /**
+     * Runs trials sweeps on the given lattice.
+     *
+     * @param lattice the lattice
+     * @param trials  the number of sweeps
+     * @param seed    seed of the random opening orders
+     */
+    public PercolationSweep(Lattice lattice, int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException();
+        }
+        sites = lattice.size();
+        critical = new int[trials];
+        RandomSource random = RandomSource.seeded(seed);
+        FlatPercolation percolation = new FlatPercolation(lattice);
+        int[] order = new int[sites];
+        for (int i = 0; i < sites; i++) {
+            order[i] = i;
+        }
+        for (int t = 0; t < trials; t++) {
+            percolation.clear();
+            // order is left as the previous trial shuffled it: drawing without replacement
+            // from any arrangement still opens the sites in a uniformly random order
+            for (int k = 0; !percolation.percolates(); k++) {
+                int j = random.uniform(k, sites);
+                int site = order[j];
+                order[j] = order[k];
+                order[k] = site;
+                percolation.openSite(site);
+            }
+            critical[t] = percolation.numberOfOpenSites();
+        }
+        Arrays.sort(critical);
+    }
+
+    // mean fraction of open sites at which the system first percolates
+    public double threshold() {
+        double sum = 0;
+        for (int c : critical) {
+            sum += c;
+        }
+        return sum / critical.length / sites;
+    }
+
+    /**
+     * Returns the estimated probability that the system percolates when every site is open with probability p,
+     * for each entry of p.
+     *
+     * @param p the site-open probabilities, each between 0 and 1
+     * @return the percolation probabilities, in the same order
+     */
+    public double[] probabilities(double[] p) {
+        double[] result = new double[p.length];
+        for (int i = 0; i < p.length; i++) {
+            if (!(p[i] >= 0 && p[i] <= 1)) {
+                throw new IllegalArgumentException("probability out of range: " + p[i]);
+            }
+            result[i] = probability(p[i]);
+        }
+        return result;
+    }
+
+    private double probability(double p) {
+        if (p == 0) return 0;
+        if (p == 1) return 1;
+
+        // Binomial(sites, p) weights over a window around the mean, built outwards from the mode by the ratio
+        // recurrence and then normalized, which avoids factorials
+        double sigma = Math.sqrt(sites * p * (1 - p));
+        int mode = (int) Math.min(sites, Math.floor((sites + 1) * p));
+        int lo = (int) Math.max(0, Math.floor(mode - WINDOW_SIGMAS * sigma - WINDOW_SIGMAS));
+        int hi = (int) Math.min(sites, Math.ceil(mode + WINDOW_SIGMAS * sigma + WINDOW_SIGMAS));
+        double[] weight = new double[hi - lo + 1];
+        weight[mode - lo] = 1;
+        double odds = p / (1 - p);
+        double total = 1;
+        for (int n = mode; n < hi; n++) {
+            weight[n + 1 - lo] = weight[n - lo] * (sites - n) / (n + 1) * odds;
+            total += weight[n + 1 - lo];
+        }
+        for (int n = mode; n > lo; n--) {
+            weight[n - 1 - lo] = weight[n - lo] * n / (sites - n + 1) / odds;
+            total += weight[n - 1 - lo];
+        }
+
+        // P[Binomial >= c] for every trial, walking the sorted critical counts along the cumulative weights
+        double sum = 0;
+        double below = 0;       // P[Binomial < n]
+        int n = lo;
+        for (int c : critical) {
+            if (c <= lo) {
+                sum += 1;
+                continue;
+            }
+            if (c > hi) {
+                break;
+            }
+            while (n < c) {
+                below += weight[n - lo] / total;
+                n++;
+            }
+            sum += Math.max(0, 1 - below);
+        }
+        return sum / critical.length;
+    }
+
+    // prints the percolation probability curve of an n-by-n grid
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        PercolationSweep sweep = new PercolationSweep(Lattice.square(n), trials, System.nanoTime());
+        double[] p = new double[101];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = i / 100.0;
+        }
+        double[] probabilities = sweep.probabilities(p);
+        StdOut.printf("threshold\t = %f\n", sweep.threshold());
+        for (int i = 0; i < p.length; i++) {
+            StdOut.printf("%.2f\t%f\n", p[i], probabilities[i]);
+        }
+    }
+}
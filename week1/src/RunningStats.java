@@ -0,0 +1,73 @@
+/**
+ * A streaming accumulator for the sample mean and standard deviation of a sequence of values.
+ * <p>
+ * Uses Welford's online update, so it needs constant memory and can report the statistics and the 95% confidence
+ * interval at any point while values are still being added. Partial accumulators (for example one per thread) can be
+ * combined with {@link #merge(RunningStats)}.
+ */
+public class RunningStats {
+    private static final double CONFIDENCE_95 = 1.96;
+
+    private long count;          // number of values added
+    private double mean;         // running mean
+    private double m2;           // running sum of squared deviations from the mean
+
+    // add one value
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+    }
+
+    // add all values accumulated by that (Chan et al. pairwise update)
+    public void merge(RunningStats that) {
+        if (that.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = that.count;
+            mean = that.mean;
+            m2 = that.m2;
+            return;
+        }
+        long total = count + that.count;
+        double delta = that.mean - mean;
+        mean += delta * that.count / total;
+        m2 += that.m2 + delta * delta * ((double) count * that.count / total);
+        count = total;
+    }
+
+    // number of values added so far
+    public long count() {
+        return count;
+    }
+
+    // sample mean, NaN if no value has been added
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    // sample standard deviation, NaN if less than two values have been added
+    public double stddev() {
+        if (count < 2) {
+            return Double.NaN;
+        }
+        return Math.sqrt(m2 / (count - 1));
+    }
+
+    // half-width of the 95% confidence interval around the mean
+    public double halfWidth() {
+        return CONFIDENCE_95 * stddev() / Math.sqrt(count);
+    }
+
+    // low  endpoint of 95% confidence interval
+    public double confidenceLo() {
+        return mean() - halfWidth();
+    }
+
+    // high endpoint of 95% confidence interval
+    public double confidenceHi() {
+        return mean() + halfWidth();
+    }
+}
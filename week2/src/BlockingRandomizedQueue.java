@@ -0,0 +1,224 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, thread-safe randomized queue, meant as a shuffle buffer between producer and consumer threads:
+ * {@code put} blocks while the queue is full and {@code take} blocks while it is empty, then removes a random item.
+ * <p>
+ * Two semaphores count the free slots and the items, so producers and consumers only ever wait on them. The items
+ * themselves are spread over a power-of-two number of stripes, each a small dense array behind its own lock, so
+ * threads working on different stripes never contend. An insertion goes to a random stripe with room, a removal
+ * takes a uniformly random item of a random non-empty stripe (trying uncontended stripes first). With stripes
+ * filled evenly that is close to, though not exactly, a uniform choice over the whole queue.
+ */
+public class BlockingRandomizedQueue<Item> {
+    private final Stripe[] stripes;         // length a power of two
+    private final Semaphore slots;          // free capacity; acquired before an insertion
+    private final Semaphore items;          // inserted items; acquired before a removal
+    private final int capacity;
+    private final RandomSource random = RandomSource.threadLocal();
+
+    // a dense array q[0..n) guarded by its own lock
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Object[] q;
+        int n;
+
+        Stripe(int capacity) {
+            q = new Object[capacity];
+        }
+    }
+
+    // construct an empty queue holding at most capacity items, with about two stripes per processor
+    public BlockingRandomizedQueue(int capacity) {
+        this(capacity, Math.min(2 * Runtime.getRuntime().availableProcessors(), Math.max(capacity, 1)));
+    }
+
+    // construct an empty queue holding at most capacity items, spread over stripes (rounded up to a power of two)
+    public BlockingRandomizedQueue(int capacity, int stripes) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+        if (stripes < 1 || stripes > capacity) throw new IllegalArgumentException("need 1 <= stripes <= capacity");
+        int count = Integer.highestOneBit(2 * stripes - 1);
+        int stripeCapacity = (capacity + count - 1) / count;    // all stripes together hold at least capacity
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(stripeCapacity);
+        }
+        this.capacity = capacity;
+        this.slots = new Semaphore(capacity);
+        this.items = new Semaphore(0);
+    }
+
+    // maximum number of items on the queue
+    public int capacity() {
+        return capacity;
+    }
+
+    // number of items on the queue (approximate while other threads are active)
+    public int size() {
+        return items.availablePermits();
+    }
+
+    // is the queue empty? (approximate, like size())
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // add the item, waiting for a free slot if the queue is full
+    public void put(Item item) throws InterruptedException {
+        if (item == null) throw new NullPointerException();
+        slots.acquire();
+        insert(item);
+    }
+
+    // add the item if the queue is not full; returns whether it was added
+    public boolean offer(Item item) {
+        if (item == null) throw new NullPointerException();
+        if (!slots.tryAcquire()) return false;
+        insert(item);
+        return true;
+    }
+
+    // add the item, waiting up to the timeout for a free slot; returns whether it was added
+    public boolean offer(Item item, long timeout, TimeUnit unit) throws InterruptedException {
+        if (item == null) throw new NullPointerException();
+        if (!slots.tryAcquire(timeout, unit)) return false;
+        insert(item);
+        return true;
+    }
+
+    // remove and return a random item, waiting for one if the queue is empty
+    public Item take() throws InterruptedException {
+        items.acquire();
+        return remove();
+    }
+
+    // remove and return a random item, or null if the queue is empty
+    public Item poll() {
+        if (!items.tryAcquire()) return null;
+        return remove();
+    }
+
+    // remove and return a random item, waiting up to the timeout for one; null if none arrived
+    public Item poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!items.tryAcquire(timeout, unit)) return null;
+        return remove();
+    }
+
+    // store the item in some stripe with room; the caller holds a slot permit, so there is one
+    private void insert(Item item) {
+        int mask = stripes.length - 1;
+        int s = random.uniform(stripes.length);
+        for (int visited = 0; ; visited++, s = (s + 1) & mask) {
+            Stripe stripe = stripes[s];
+            if (!lock(stripe, visited >= stripes.length)) continue;
+            try {
+                if (stripe.n < stripe.q.length) {
+                    stripe.q[stripe.n++] = item;
+                    break;
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        items.release();
+    }
+
+    // remove a random item of some non-empty stripe; the caller holds an item permit, so there is one
+    private Item remove() {
+        int mask = stripes.length - 1;
+        int s = random.uniform(stripes.length);
+        Item item;
+        for (int visited = 0; ; visited++, s = (s + 1) & mask) {
+            Stripe stripe = stripes[s];
+            if (!lock(stripe, visited >= stripes.length)) continue;
+            try {
+                if (stripe.n > 0) {
+                    int i = random.uniform(stripe.n);
+                    item = (Item) stripe.q[i];
+                    stripe.q[i] = stripe.q[--stripe.n];
+                    stripe.q[stripe.n] = null;          // to avoid loitering
+                    break;
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        slots.release();
+        return item;
+    }
+
+    // lock the stripe; without wait, give up at once if another thread holds it
+    private static boolean lock(Stripe stripe, boolean wait) {
+        if (wait) {
+            stripe.lock.lock();
+            return true;
+        }
+        return stripe.lock.tryLock();
+    }
+
+    // stress test: producers put n distinct items through a small queue while consumers take them;
+    // every item must come out exactly once
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int consumers = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        BlockingRandomizedQueue<Integer> queue = new BlockingRandomizedQueue<>(256);
+        AtomicIntegerArray taken = new AtomicIntegerArray(n);
+        AtomicInteger remaining = new AtomicInteger(n);
+        AtomicInteger displaced = new AtomicInteger();  // items taken out of insertion order
+
+        Thread[] threads = new Thread[producers + consumers];
+        for (int p = 0; p < producers; p++) {
+            int first = p;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = first; i < n; i += producers) {
+                        queue.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads[producers + c] = new Thread(() -> {
+                try {
+                    int previous = -1;
+                    while (remaining.get() > 0) {
+                        Integer item = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (item == null) continue;
+                        taken.incrementAndGet(item);
+                        remaining.decrementAndGet();
+                        if (item < previous) displaced.incrementAndGet();
+                        previous = item;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (taken.get(i) != 1) {
+                throw new IllegalStateException("item " + i + " taken " + taken.get(i) + " times");
+            }
+        }
+        if (!queue.isEmpty() || queue.slots.availablePermits() != queue.capacity()) {
+            throw new IllegalStateException("queue not drained");
+        }
+        StdOut.println("ok: " + n + " items, " + producers + " producers, " + consumers + " consumers, "
+                       + displaced.get() + " taken out of order");
+    }
+}
@@ -1,28 +1,28 @@
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+/**
+ * A double-ended queue backed by a circular array whose capacity is a power of two, so index wrap-around is a
+ * bit mask. The array doubles when full and halves when a quarter full, which keeps both ends amortized O(1)
+ * without allocating anything per item, and iteration walks contiguous memory.
+ */
 public class Deque<Item> implements Iterable<Item> {
-    private Node<Item> first;    // beginning of queue
-    private Node<Item> last;     // end of queue
-    private int n;               // number of elements on queue
+    private static final int MIN_CAPACITY = 8;
 
-    // helper linked list class
-    private static class Node<Item> {
-        private Item item;
-        private Node<Item> next;
-        private Node<Item> prev;
-    }
+    private Item[] items;        // circular buffer, items[head..head+n) modulo items.length
+    private int head;            // index of the first item
+    private int n;               // number of elements on queue
 
     // construct an empty deque
     public Deque() {
-        first = null;
-        last = null;
+        items = (Item[]) new Object[MIN_CAPACITY];
+        head = 0;
         n = 0;
     }
 
     // is the deque empty?
     public boolean isEmpty() {
-        return first == null;
+        return n == 0;
     }
 
     // return the number of items on the deque
@@ -33,87 +33,69 @@ public class Deque<Item> implements Iterable<Item> {
     // add the item to the front
     public void addFirst(Item item) {
         if (item == null) throw new NullPointerException();
-        final Node<Item> oldFirst = first;
-        first = new Node<Item>();
-        first.item = item;
-
-        if (oldFirst == null || isEmpty()) {
-            last = first;
-        }
-        else {
-            first.next = oldFirst;
-            oldFirst.prev = first;
-        }
+        if (n == items.length) resize(2 * items.length);
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
         n++;
     }
 
     // add the item to the end
     public void addLast(Item item) {
         if (item == null) throw new NullPointerException();
-        Node<Item> oldlast = last;
-        last = new Node<Item>();
-        last.item = item;
-        last.next = null;
-
-        if (isEmpty()) first = last;
-        else {
-            oldlast.next = last;
-            last.prev = oldlast;
-        }
+        if (n == items.length) resize(2 * items.length);
+        items[(head + n) & (items.length - 1)] = item;
         n++;
     }
 
     // remove and return the item from the front
     public Item removeFirst() {
-        final Node<Item> f = first;
-        if (f == null || isEmpty()) throw new NoSuchElementException();
-
-        final Item item = f.item;
-        final Node<Item> next = f.next;
-        f.item = null;
-        f.next = null; // help GC
-        first = next;
-        if (next == null)
-            last = null;
-        else
-            next.prev = null;
+        if (isEmpty()) throw new NoSuchElementException();
+        final Item item = items[head];
+        items[head] = null; // help GC
+        head = (head + 1) & (items.length - 1);
         n--;
+        shrinkIfSparse();
         return item;
     }
 
     // remove and return the item from the end
     public Item removeLast() {
-        final Node<Item> l = last;
-        if (l == null || isEmpty())
-            throw new NoSuchElementException();
-        final Item item = l.item;
-        final Node<Item> prev = l.prev;
-        l.item = null;
-        l.prev = null; // help GC
-        last = prev;
-        if (prev == null)
-            first = null;
-        else
-            prev.next = null;
+        if (isEmpty()) throw new NoSuchElementException();
+        final int last = (head + n - 1) & (items.length - 1);
+        final Item item = items[last];
+        items[last] = null; // help GC
         n--;
+        shrinkIfSparse();
         return item;
     }
 
+    // halve the array once it is only a quarter full
+    private void shrinkIfSparse() {
+        if (items.length > MIN_CAPACITY && n == items.length / 4) resize(items.length / 2);
+    }
+
+    // move the items to an array of the given power-of-two capacity, starting at index 0
+    private void resize(int capacity) {
+        assert capacity >= n;
+        Item[] temp = (Item[]) new Object[capacity];
+        int firstPart = Math.min(n, items.length - head);
+        System.arraycopy(items, head, temp, 0, firstPart);
+        System.arraycopy(items, 0, temp, firstPart, n - firstPart);
+        items = temp;
+        head = 0;
+    }
+
     // return an iterator over items in order from front to end
     public Iterator<Item> iterator() {
-        return new ListIterator<Item>(first);
+        return new ArrayIterator();
     }
 
     // an iterator, doesn't implement remove() since it's optional
-    private class ListIterator<Item> implements Iterator<Item> {
-        private Node<Item> current;
-
-        public ListIterator(Node<Item> first) {
-            current = first;
-        }
+    private class ArrayIterator implements Iterator<Item> {
+        private int i = 0;
 
         public boolean hasNext() {
-            return current != null;
+            return i < n;
         }
 
         public void remove() {
@@ -122,9 +104,7 @@ public class Deque<Item> implements Iterable<Item> {
 
         public Item next() {
             if (!hasNext()) throw new NoSuchElementException();
-            Item item = current.item;
-            current = current.next;
-            return item;
+            return items[(head + i++) & (items.length - 1)];
         }
     }
 
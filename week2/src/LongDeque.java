@@ -0,0 +1,113 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A double-ended queue of {@code long} values with the same API as {@link Deque}, stored unboxed in a circular
+ * {@code long[]} whose capacity is a power of two. Each value takes 8 bytes (up to 32 just before the array halves)
+ * and nothing is boxed unless the caller iterates through {@code Iterator<Long>.next()}.
+ */
+public class LongDeque implements Iterable<Long> {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] items;        // circular buffer, items[head..head+n) modulo items.length
+    private int head;            // index of the first value
+    private int n;               // number of values on queue
+
+    // construct an empty deque
+    public LongDeque() {
+        items = new long[MIN_CAPACITY];
+    }
+
+    // is the deque empty?
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    // return the number of values on the deque
+    public int size() {
+        return n;
+    }
+
+    // add the value to the front
+    public void addFirst(long value) {
+        if (n == items.length) resize(2 * items.length);
+        head = (head - 1) & (items.length - 1);
+        items[head] = value;
+        n++;
+    }
+
+    // add the value to the end
+    public void addLast(long value) {
+        if (n == items.length) resize(2 * items.length);
+        items[(head + n) & (items.length - 1)] = value;
+        n++;
+    }
+
+    // remove and return the value from the front
+    public long removeFirst() {
+        if (isEmpty()) throw new NoSuchElementException();
+        final long value = items[head];
+        head = (head + 1) & (items.length - 1);
+        n--;
+        shrinkIfSparse();
+        return value;
+    }
+
+    // remove and return the value from the end
+    public long removeLast() {
+        if (isEmpty()) throw new NoSuchElementException();
+        final long value = items[(head + n - 1) & (items.length - 1)];
+        n--;
+        shrinkIfSparse();
+        return value;
+    }
+
+    // halve the array once it is only a quarter full
+    private void shrinkIfSparse() {
+        if (items.length > MIN_CAPACITY && n == items.length / 4) resize(items.length / 2);
+    }
+
+    // move the values to an array of the given power-of-two capacity, starting at index 0
+    private void resize(int capacity) {
+        assert capacity >= n;
+        long[] temp = new long[capacity];
+        int firstPart = Math.min(n, items.length - head);
+        System.arraycopy(items, head, temp, 0, firstPart);
+        System.arraycopy(items, 0, temp, firstPart, n - firstPart);
+        items = temp;
+        head = 0;
+    }
+
+    // return an iterator over values in order from front to end; use nextLong() to avoid boxing
+    public PrimitiveIterator.OfLong iterator() {
+        return new ArrayIterator();
+    }
+
+    // an iterator, doesn't implement remove() since it's optional
+    private class ArrayIterator implements PrimitiveIterator.OfLong {
+        private int i = 0;
+
+        public boolean hasNext() {
+            return i < n;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public long nextLong() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return items[(head + i++) & (items.length - 1)];
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (PrimitiveIterator.OfLong it = iterator(); it.hasNext(); ) {
+            s.append(it.nextLong());
+            s.append(' ');
+        }
+        return s.toString();
+    }
+}
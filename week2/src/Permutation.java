@@ -1,17 +1,31 @@
-import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.StdRandom;
 
 public class Permutation {
+    // prints k of the strings on standard input, chosen and ordered at random;
+    // an optional second argument seeds the run to make it reproducible
+    //
+    // The input is streamed through a reservoir of k strings (Vitter's Algorithm R): the i-th string (0-based)
+    // replaces a random reservoir entry with probability k / (i + 1), which leaves every k-subset equally likely.
+    // Dequeuing from the RandomizedQueue removes a uniformly random entry, so it doubles as the replacement step.
+    // Memory is O(k) whatever the size of the input.
     public static void main(String[] args) {
         int k = Integer.parseInt(args[0]);
-        RandomizedQueue<String> rq = new RandomizedQueue<>();
-        String[] strs = StdIn.readAllStrings();
-        StdRandom.shuffle(strs);
-        for (int i = 0; i < k; i++) {
-            rq.enqueue(strs[i]);
+        RandomSource random = args.length > 1 ? RandomSource.seeded(Long.parseLong(args[1]))
+                                              : RandomSource.threadLocal();
+        RandomizedQueue<String> rq = new RandomizedQueue<>(random);
+        FastIn in = new FastIn();
+        if (k > 0) {
+            for (long i = 0; !in.isEmpty(); i++) {
+                String s = in.readString();
+                if (i < k) {
+                    rq.enqueue(s);
+                } else if (random.uniform(i + 1) < k) {
+                    rq.dequeue();
+                    rq.enqueue(s);
+                }
+            }
         }
-        for (int i = 0; i < k; i++) {
+        while (!rq.isEmpty()) {
             StdOut.println(rq.dequeue());
         }
     }
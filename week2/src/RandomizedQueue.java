@@ -1,22 +1,34 @@
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.StdRandom;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+/**
+ * A randomized queue kept as a dense array: the items always occupy q[0..n), so a random item is a single array
+ * access and removing it moves the last item into its slot. The array doubles when full and halves when a
+ * quarter full.
+ */
 public class RandomizedQueue<Item> implements Iterable<Item> {
-    private Item[] q;       // queue elements
+    private Item[] q;       // queue elements, in q[0..n)
     private int n;          // number of elements on queue
-    private int first;      // index of first element of queue
-    private int last;       // index of next available slot
+    private int modCount;   // number of modifications, checked by the iterators
+    private final RandomSource random;
 
     // construct an empty randomized queue
     public RandomizedQueue() {
+        this(RandomSource.threadLocal());
+    }
+
+    // construct an empty randomized queue that draws its random choices from random
+    public RandomizedQueue(RandomSource random) {
+        if (random == null) throw new NullPointerException();
+        this.random = random;
         q = (Item[]) new Object[2];
         n = 0;
-        first = 0;
-        last = 0;
     }
 
     // is the queue empty?
@@ -32,77 +44,95 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
     // resize the underlying array
     private void resize(int capacity) {
         assert capacity >= n;
-        Item[] temp = (Item[]) new Object[capacity];
-        for (int i = 0; i < n; i++) {
-            temp[i] = q[(first + i) % q.length];
-        }
-        q = temp;
-        first = 0;
-        last = n;
+        q = Arrays.copyOf(q, capacity);
     }
 
     // add the item
     public void enqueue(Item item) {
-        // double size of array if necessary and recopy to front of array
         if (item == null) throw new NullPointerException();
         if (n == q.length) resize(2 * q.length);   // double size of array if necessary
-        q[last++] = item;                        // add item
-        if (last == q.length) last = 0;          // wrap-around
-        n++;
+        q[n++] = item;                             // add item
+        modCount++;
+    }
+
+    // add all the items, growing the array at most once
+    public void enqueueAll(Item[] items) {
+        for (Item item : items) {
+            if (item == null) throw new NullPointerException();
+        }
+        if (n + items.length > q.length) resize(Math.max(2 * q.length, n + items.length));
+        System.arraycopy(items, 0, q, n, items.length);
+        n += items.length;
+        modCount++;
     }
 
     // remove and return a random item
     public Item dequeue() {
         if (isEmpty()) throw new NoSuchElementException();
-        int randomIndex = StdRandom.uniform(0, n);
-        Item item = q[randomIndex];
-        q[randomIndex] = q[n - 1];                            // to avoid loitering
-        last = --n;
-        q[last] = null;
+        Item item = removeAt(random.uniform(n));
         if (n > 0 && n == q.length / 4) resize(q.length / 2);
         return item;
     }
 
+    // remove and return k distinct random items, in random order, shrinking the array at most once
+    public List<Item> dequeueMany(int k) {
+        if (k < 0) throw new IllegalArgumentException();
+        if (k > n) throw new NoSuchElementException();
+        Item[] items = (Item[]) new Object[k];
+        for (int i = 0; i < k; i++) {
+            items[i] = removeAt(random.uniform(n));
+        }
+        if (n > 0 && n <= q.length / 4) resize(2 * n);
+        return Arrays.asList(items);
+    }
+
+    // remove q[i] by moving the last item into its slot
+    private Item removeAt(int i) {
+        Item item = q[i];
+        q[i] = q[--n];
+        q[n] = null;                                   // to avoid loitering
+        modCount++;
+        return item;
+    }
+
     // return (but do not remove) a random item
     public Item sample() {
         if (isEmpty()) throw new NoSuchElementException();
-        int randomIndex = StdRandom.uniform(0, n);
-        return q[randomIndex];
+        return q[random.uniform(n)];
     }
 
     /**
-     * Returns an iterator that iterates over the items in the queue in arbitrary order.
+     * Returns an iterator that iterates over the items in the queue in uniformly random order.
+     * The order is drawn lazily, so creating the iterator takes constant time and every call to next() constant
+     * amortized time.
+     * The queue must not be modified while the iterator is in use.
      *
-     * @return an iterator that iterates over the items in the queue in arbitrary order
+     * @return an iterator that iterates over the items in the queue in uniformly random order
      */
     public Iterator<Item> iterator() {
-        return new ArrayIterator();
-    }
-
-    // Implementing Fisher–Yates shuffle
-    private void shuffleArray(Item[] r) {
-        for (int i = n - 1; i > 0; i--) {
-            int j = StdRandom.uniform(0, i + 1);
-            Item tmp = r[j];
-            r[j] = r[i];
-            r[i] = tmp;
-        }
+        return new RandomIterator();
     }
 
     // an iterator, doesn't implement remove() since it's optional
-    private class ArrayIterator implements Iterator<Item> {
+    //
+    // Runs the Fisher–Yates shuffle of the indices 0..n-1 one step per next(). The virtual index array is never
+    // materialized: positions that have been swapped are kept in a small open-addressing map (position -> index),
+    // every other position still holds its own index. Once the map holds more than size / 32 entries it no longer
+    // pays off: the items at the remaining positions are copied into a dense array and the shuffle goes on there, so
+    // a full pass costs about what an eager shuffle does. The order of two or more iterators to the same randomized
+    // queue is mutually independent, as each one draws its own swaps.
+    private class RandomIterator implements Iterator<Item> {
+        private final int size = n;
+        private final int expectedModCount = modCount;
         private int i = 0;
-        // The order of two or more iterators to the same randomized queue must be mutually independent;
-        // each iterator must maintain its own random order
-        private Item[] r = (Item[]) new Object[n];
-
-        public ArrayIterator() {
-            System.arraycopy(q, 0, r, 0, n);
-            shuffleArray(r);
-        }
+        private int[] keys = new int[16];       // swapped position + 1, 0 marks an empty slot
+        private int[] values = new int[16];     // index stored at that position
+        private int entries = 0;
+        private Item[] rest;                    // once dense: rest[p - i0] is the item at position p
+        private int i0;                         // first position held in rest
 
         public boolean hasNext() {
-            return i < n;
+            return i < size;
         }
 
         public void remove() {
@@ -111,7 +141,80 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
         public Item next() {
             if (!hasNext()) throw new NoSuchElementException();
-            return r[i++];
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            int j = random.uniform(i, size);
+            Item item;
+            if (rest != null) {
+                item = rest[j - i0];
+                rest[j - i0] = rest[i - i0];
+            } else {
+                item = q[get(j)];
+                if (j != i) put(j, get(i));  // position i is never read again, so only j needs updating
+                if (entries > size / 32) densify();
+            }
+            i++;
+            return item;
+        }
+
+        // copy the items at positions i + 1..size-1 into rest and drop the map
+        private void densify() {
+            i0 = i + 1;
+            rest = Arrays.copyOfRange(q, i0, size);
+            for (int k = 0; k < keys.length; k++) {
+                int position = keys[k] - 1;
+                if (position >= i0) rest[position - i0] = q[values[k]];
+            }
+            keys = null;
+            values = null;
+        }
+
+        // index currently stored at position
+        private int get(int position) {
+            int mask = keys.length - 1;
+            for (int slot = hash(position) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == position + 1) return values[slot];
+            }
+            return position;
+        }
+
+        private void put(int position, int index) {
+            int mask = keys.length - 1;
+            int slot = hash(position) & mask;
+            while (keys[slot] != 0 && keys[slot] != position + 1) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = position + 1;
+                if (++entries > keys.length / 2) {
+                    values[slot] = index;
+                    rehash();
+                    return;
+                }
+            }
+            values[slot] = index;
+        }
+
+        // double the map once it is half full
+        private void rehash() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[2 * oldKeys.length];
+            values = new int[2 * oldValues.length];
+            int mask = keys.length - 1;
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldKeys[k] == 0) continue;
+                int slot = hash(oldKeys[k] - 1) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[k];
+                values[slot] = oldValues[k];
+            }
+        }
+
+        private int hash(int position) {
+            int h = position * 0x9E3779B9;
+            return h ^ (h >>> 16);
         }
     }
 
@@ -0,0 +1,155 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A randomized queue that removes items with probability proportional to their weights.
+ * <p>
+ * The items are kept dense in q[0..n) as in {@link RandomizedQueue}, and a sum-segment tree holds their weights in
+ * its leaves, every inner node being the sum of its two children. A draw picks a uniform point in [0, total weight)
+ * and descends from the root to the item whose weight interval contains it; removing an item moves the last one into
+ * its slot, which is two leaf updates. enqueue, dequeue and sample all take O(log n) (amortized for the resizes).
+ * <p>
+ * Every update recomputes the sums on the path to the root from the children rather than adding a difference, so no
+ * rounding error builds up however many items come and go, even when the weights span many orders of magnitude.
+ */
+public class WeightedRandomizedQueue<Item> {
+    private Item[] q;           // queue elements, in q[0..n)
+    private double[] tree;      // tree[1] is the root, the children of j are 2j and 2j + 1,
+                                // and the weight of q[i] is the leaf tree[q.length + i]
+    private int n;              // number of elements on queue
+    private final RandomSource random;
+
+    // construct an empty weighted randomized queue
+    public WeightedRandomizedQueue() {
+        this(RandomSource.threadLocal());
+    }
+
+    // construct an empty weighted randomized queue that draws its random choices from random
+    public WeightedRandomizedQueue(RandomSource random) {
+        if (random == null) throw new NullPointerException();
+        this.random = random;
+        q = (Item[]) new Object[2];
+        tree = new double[4];
+    }
+
+    // is the queue empty?
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    // return the number of items on the queue
+    public int size() {
+        return n;
+    }
+
+    // return the sum of the weights of all items on the queue
+    public double totalWeight() {
+        return tree[1];
+    }
+
+    // add the item with the given weight, which must be positive and finite
+    public void enqueue(Item item, double weight) {
+        if (item == null) throw new NullPointerException();
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("weight must be positive and finite: " + weight);
+        }
+        if (Double.isInfinite(tree[1] + weight)) {
+            throw new IllegalArgumentException("total weight overflows");
+        }
+        if (n == q.length) resize(2 * q.length);   // double size of array if necessary
+        q[n] = item;
+        set(n++, weight);
+    }
+
+    // remove and return a random item, chosen with probability proportional to its weight
+    public Item dequeue() {
+        if (isEmpty()) throw new NoSuchElementException();
+        int i = draw();
+        Item item = q[i];
+        int last = --n;
+        if (i != last) {
+            q[i] = q[last];
+            set(i, tree[q.length + last]);
+        }
+        q[last] = null;                             // to avoid loitering
+        set(last, 0.0);
+        if (n > 0 && n == q.length / 4) resize(q.length / 2);
+        return item;
+    }
+
+    // return (but do not remove) a random item, chosen with probability proportional to its weight
+    public Item sample() {
+        if (isEmpty()) throw new NoSuchElementException();
+        return q[draw()];
+    }
+
+    // index of the item whose weight interval contains a uniform point of [0, total weight)
+    private int draw() {
+        double r = random.uniform() * tree[1];
+        int j = 1;
+        while (j < q.length) {
+            j *= 2;
+            // a right subtree without weight can only be reached by rounding, never enter it
+            if (r >= tree[j] && tree[j + 1] > 0) {
+                r -= tree[j];
+                j++;
+            }
+        }
+        return j - q.length;
+    }
+
+    // set the weight of q[i] and recompute the sums above it
+    private void set(int i, double weight) {
+        int j = q.length + i;
+        tree[j] = weight;
+        for (j /= 2; j > 0; j /= 2) {
+            tree[j] = tree[2 * j] + tree[2 * j + 1];
+        }
+    }
+
+    // resize the underlying array and rebuild the tree around the n leaves in use
+    private void resize(int capacity) {
+        assert capacity >= n;
+        double[] temp = new double[2 * capacity];
+        System.arraycopy(tree, q.length, temp, capacity, n);
+        for (int j = capacity - 1; j > 0; j--) {
+            temp[j] = temp[2 * j] + temp[2 * j + 1];
+        }
+        q = Arrays.copyOf(q, capacity);
+        tree = temp;
+    }
+
+    // unit testing (optional): items 1..k weighted 1..k must be sampled, and dequeued first, in proportion i / total
+    public static void main(String[] args) {
+        int k = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int draws = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        RandomSource random = RandomSource.seeded(42);
+        WeightedRandomizedQueue<Integer> queue = new WeightedRandomizedQueue<>(random);
+        for (int i = 1; i <= k; i++) {
+            queue.enqueue(i, i);
+        }
+        int[] sampled = new int[k + 1];
+        for (int d = 0; d < draws; d++) {
+            sampled[queue.sample()]++;
+        }
+
+        int trials = draws / k;
+        int[] first = new int[k + 1];
+        for (int t = 0; t < trials; t++) {
+            first[queue.dequeue()]++;
+            while (!queue.isEmpty()) queue.dequeue();
+            for (int i = 1; i <= k; i++) {
+                queue.enqueue(i, i);
+            }
+        }
+
+        double total = k * (k + 1) / 2.0;
+        StdOut.println("item  expected  sampled  dequeued first");
+        for (int i = 1; i <= k; i++) {
+            StdOut.printf("%4d  %8.4f  %7.4f  %14.4f%n", i, i / total, (double) sampled[i] / draws,
+                          (double) first[i] / trials);
+        }
+    }
+}
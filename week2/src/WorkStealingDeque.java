@@ -0,0 +1,155 @@
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent work-stealing deque after Chase and Lev ("Dynamic Circular Work-Stealing Deque", SPAA 2005).
+ * <p>
+ * A single owner thread pushes and pops items at the bottom end (LIFO), while any number of thief threads steal
+ * items from the top end (FIFO). There is no lock: the owner only synchronizes with thieves through a compare-and-set
+ * on {@code top} when the two ends meet, and thieves only contend with each other through the same compare-and-set.
+ * The circular array grows as needed and is never shrunk.
+ * <p>
+ * Whoever takes an item clears its slot, so taken items do not stay reachable from the array. A thief clears its slot
+ * after winning the compare-and-set, and the owner never writes into a slot that still holds an item (it grows the
+ * array instead), so a late clear cannot wipe a newer item. The one exception: a steal racing with a grow may leave
+ * a copy in the new array, until the owner comes round to that slot and grows past it.
+ */
+public class WorkStealingDeque<Item> {
+    private static final int MIN_CAPACITY = 16;
+    @SuppressWarnings("rawtypes")   // a class literal cannot carry the type parameter
+    private static final AtomicLongFieldUpdater<WorkStealingDeque> TOP =
+            AtomicLongFieldUpdater.newUpdater(WorkStealingDeque.class, "top");
+
+    private volatile long top;                          // index of the next item to steal
+    private volatile long bottom;                       // index of the next free slot, written only by the owner
+    private volatile AtomicReferenceArray<Item> items;  // circular buffer, length a power of two
+
+    // construct an empty deque
+    public WorkStealingDeque() {
+        items = new AtomicReferenceArray<>(MIN_CAPACITY);
+    }
+
+    // approximate number of items on the deque (exact when no other thread is active)
+    public int size() {
+        long size = bottom - top;
+        return size < 0 ? 0 : (int) size;
+    }
+
+    // is the deque empty? (approximate, like size())
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // add the item to the bottom; owner thread only
+    public void push(Item item) {
+        if (item == null) throw new NullPointerException();
+        long b = bottom;
+        long t = top;
+        AtomicReferenceArray<Item> a = items;
+        if (b - t >= a.length() || a.get((int) b & (a.length() - 1)) != null) {   // full, or a clear is pending
+            a = grow(a, t, b);
+        }
+        a.lazySet((int) b & (a.length() - 1), item);
+        bottom = b + 1;     // publishes the item to thieves
+    }
+
+    // remove and return the most recently pushed item, or null if the deque is empty; owner thread only
+    public Item pop() {
+        long b = bottom - 1;
+        AtomicReferenceArray<Item> a = items;
+        bottom = b;         // volatile write before the read of top: thieves now see the slot as taken
+        long t = top;
+        if (t > b) {        // empty
+            bottom = b + 1;
+            return null;
+        }
+        int index = (int) b & (a.length() - 1);
+        Item item = a.get(index);
+        if (t < b) {        // more than one item left, no thief can reach this slot
+            a.lazySet(index, null);
+            return item;
+        }
+        // last item: race the thieves for it; the winner clears the slot
+        if (TOP.compareAndSet(this, t, t + 1)) {
+            a.lazySet(index, null);
+        } else {
+            item = null;
+        }
+        bottom = b + 1;
+        return item;
+    }
+
+    // remove and return the oldest item, or null if the deque is empty; any thread
+    public Item steal() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+            AtomicReferenceArray<Item> a = items;
+            int index = (int) t & (a.length() - 1);
+            Item item = a.get(index);
+            if (TOP.compareAndSet(this, t, t + 1)) {
+                a.lazySet(index, null);                 // to avoid loitering
+                return item;
+            }
+            // lost the race to another thief or to the owner, retry
+        }
+    }
+
+    // copy items [t, b) into an array twice as large and publish it; owner thread only
+    private AtomicReferenceArray<Item> grow(AtomicReferenceArray<Item> a, long t, long b) {
+        AtomicReferenceArray<Item> temp = new AtomicReferenceArray<>(2 * a.length());
+        for (long i = t; i < b; i++) {
+            temp.lazySet((int) i & (temp.length() - 1), a.get((int) i & (a.length() - 1)));
+        }
+        items = temp;
+        return temp;
+    }
+
+    // stress test: one owner pushes and pops n items while the thieves steal; every item must be taken exactly once
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int thieves = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        AtomicIntegerArray taken = new AtomicIntegerArray(n);
+        CountDownLatch done = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[thieves];
+        for (int i = 0; i < thieves; i++) {
+            threads[i] = new Thread(() -> {
+                while (done.getCount() > 0 || !deque.isEmpty()) {
+                    Integer item = deque.steal();
+                    if (item != null) taken.incrementAndGet(item);
+                }
+            });
+            threads[i].start();
+        }
+        for (int i = 0; i < n; i++) {
+            deque.push(i);
+            if (i % 3 == 0) {
+                Integer item = deque.pop();
+                if (item != null) taken.incrementAndGet(item);
+            }
+        }
+        for (Integer item = deque.pop(); item != null; item = deque.pop()) {
+            taken.incrementAndGet(item);
+        }
+        done.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (taken.get(i) != 1) {
+                throw new IllegalStateException("item " + i + " taken " + taken.get(i) + " times");
+            }
+        }
+        StdOut.println("ok: " + n + " items, " + thieves + " thieves");
+    }
+}
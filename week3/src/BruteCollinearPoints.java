@@ -37,9 +37,9 @@ public class BruteCollinearPoints {
         segments = segmentList.toArray(new LineSegment[segmentList.size()]);
     }
 
-    // is a-b-c collinear?
+    // is p-q-r-s collinear? (exact slope comparison, no floating-point equality)
     private boolean isCollinear(Point p, Point q, Point r, Point s) {
-        return p.slopeTo(q) == p.slopeTo(r) && p.slopeTo(q) == p.slopeTo(s);
+        return p.compareSlopes(q, r) == 0 && p.compareSlopes(q, s) == 0;
     }
 
     // the number of line segments
@@ -1,7 +1,10 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * A fast method of examining points and checking whether they lie on the same line segment. Specifically, this is done
@@ -16,12 +19,31 @@ public class FastCollinearPoints {
     // Holds all line segments found
     private LineSegment[] lineSegments;
 
+    // Ranges of origins are split for the fork-join pool until there are about this many per thread.
+    private static final int TASKS_PER_THREAD = 8;
+
     /**
      * Instantiate by finding all line segments which are collinear with four or more points from a valid set of points.
      *
      * @param points array to find line segments in.
      */
     public FastCollinearPoints(Point[] points) {
+        this(points, 1);
+    }
+
+    /**
+     * Instantiate by finding all line segments which are collinear with four or more points from a valid set of points,
+     * handling the origins in parallel. Every origin is searched independently, so ranges of origins are searched by a
+     * fork-join pool with their own scratch arrays and segment lists, which are then joined in origin order. The
+     * segments found are the same, in the same order, as with one thread.
+     *
+     * @param points      array to find line segments in.
+     * @param parallelism number of threads to use; 1 searches on the calling thread.
+     */
+    public FastCollinearPoints(Point[] points, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
         Objects.requireNonNull(points);
         /**
          * Checks for any null items in points array.
@@ -29,27 +51,82 @@ public class FastCollinearPoints {
          */
         Arrays.stream(points).forEach(p -> Objects.requireNonNull(p));
 
-        if (hasRepeatedPoints(points)) {
+        // One sort by position serves both the duplicate check and, copied, as the starting order of every slope sort.
+        Point[] sorted = points.clone();  // cloning to prevent mutation of user input.
+        Arrays.sort(sorted);
+        if (hasRepeatedPoints(sorted)) {
             throw new IllegalArgumentException("Repeated points are contained in the array.");
         }
 
-        lineSegments = findLineSegments(points.clone());  // cloning to prevent mutation of user input.
+        List<LineSegment> found;
+        if (parallelism == 1) {
+            found = findLineSegments(points, sorted, 0, points.length);
+        } else {
+            int leafSize = Math.max(1, points.length / (TASKS_PER_THREAD * parallelism));
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                found = pool.invoke(new SegmentSearch(points, sorted, 0, points.length, leafSize));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        lineSegments = found.toArray(new LineSegment[found.size()]);
     }
 
     /**
-     * Finds all line segments which are collinear with four or more points. This is done using stable sorting methods
-     * alongside a sliding window approach.
+     * Searches a range of origins, splitting it in halves down to leafSize origins. The segments of the lower half
+     * come first, so the result is in origin order.
+     */
+    private static class SegmentSearch extends RecursiveTask<List<LineSegment>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Point[] points;
+        private final Point[] sorted;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        SegmentSearch(Point[] points, Point[] sorted, int from, int to, int leafSize) {
+            this.points = points;
+            this.sorted = sorted;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected List<LineSegment> compute() {
+            if (to - from <= leafSize) {
+                return findLineSegments(points, sorted, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            SegmentSearch lower = new SegmentSearch(points, sorted, from, mid, leafSize);
+            lower.fork();
+            List<LineSegment> upper = new SegmentSearch(points, sorted, mid, to, leafSize).compute();
+            List<LineSegment> segments = lower.join();
+            segments.addAll(upper);
+            return segments;
+        }
+    }
+
+    /**
+     * Finds all line segments which are collinear with four or more points and start at one of the origins
+     * points[from..to). This is done using stable sorting methods alongside a sliding window approach.
      *
-     * @param points array to find line segments in.
-     * @return array of all line segments found.
+     * @param points array to find line segments in, the origins taken from points[from..to).
+     * @param sorted the same points sorted by position.
+     * @param from   index of the first origin.
+     * @param to     index after the last origin.
+     * @return list of the line segments found.
      */
-    private LineSegment[] findLineSegments(Point[] points) {
+    private static List<LineSegment> findLineSegments(Point[] points, Point[] sorted, int from, int to) {
         ArrayList<LineSegment> tempLineSegments = new ArrayList<>();
-        Point[] others = points.clone();
-        for (Point origin : points) {
-            // These sorts are stable. Hence, relative ordering of points by position is maintained even after ordering
-            // points by slope with origin.
-            Arrays.sort(others);
+        Point[] others = new Point[sorted.length];
+        for (int o = from; o < to; o++) {
+            Point origin = points[o];
+            // The slope sort is stable. Hence, starting from the points ordered by position, the relative ordering by
+            // position is maintained even after ordering points by slope with origin.
+            System.arraycopy(sorted, 0, others, 0, sorted.length);
             Arrays.sort(others, origin.slopeOrder());  // lowest element will always be the origin/degenerate point.
 
             int first = 1;  // First point considered collinear with origin (based on relative position).
@@ -84,7 +161,7 @@ public class FastCollinearPoints {
                 }
             }
         }
-        return tempLineSegments.toArray(new LineSegment[tempLineSegments.size()]);
+        return tempLineSegments;
     }
 
     /**
@@ -106,19 +183,18 @@ public class FastCollinearPoints {
     }
 
     /**
-     * Check for repeated/duplicate points in points array.
+     * Check for repeated/duplicate points in points array. Sorting brings equal points next to each other, so only
+     * neighbours have to be compared.
      * Useful for exception handling.
      *
-     * @param points array to check.
+     * @param sorted array to check, sorted by position.
      * @return true if there are repeated points, false if not.
      */
-    private boolean hasRepeatedPoints(Point[] points) {
-        for (int i = 0; i < points.length; i++) {
-            for (int j = i + 1; j < points.length; j++) {
-                // Same reference or same point in terms of (x, y) location?
-                if (points[i] == points[j] || points[i].compareTo(points[j]) == 0) {
-                    return true;
-                }
+    private boolean hasRepeatedPoints(Point[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            // Same point in terms of (x, y) location? This includes the same reference.
+            if (sorted[i - 1].compareTo(sorted[i]) == 0) {
+                return true;
             }
         }
         return false;
@@ -0,0 +1,157 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Finds the same line segments as {@link FastCollinearPoints} in O(n^2) expected time, without sorting per origin.
+ * <p>
+ * For every origin, the other points are bucketed by the exact reduced slope they make with it (see
+ * {@link PackedCollinearPoints#slopeKey}) in a primitive open-addressing hash table. Each bucket only keeps its size,
+ * its lowest point and its highest point: a slope with three or more points whose lowest point lies above the origin
+ * is a segment from the origin to the highest point, which reports every maximal segment exactly once.
+ * <p>
+ * The table is reused for every origin; entries are stamped with the origin they belong to, so it never needs
+ * clearing. Coordinates must lie in [0, 32767], as in the assignment.
+ */
+public class HashCollinearPoints {
+
+    // The minimum number of "other" collinear points needed for line segment to exist. "Origin" point excluded.
+    private static final int MIN_OTHER_COLLINEAR_POINTS = 3;
+
+    // Holds all line segments found
+    private final LineSegment[] lineSegments;
+
+    // Open-addressing table from slope key to bucket, indexed by slot.
+    private final int[] keys;
+    private final int[] stamps;     // stamps[s] = 1 + origin that slot s was filled for; 0 if never used
+    private final int[] sizes;      // number of points in the bucket
+    private final int[] lowest;     // position of the lowest point in the bucket
+    private final int[] highest;    // index of the highest point in the bucket
+    private final int[] used;       // slots filled for the current origin, in order of first use
+    private final int mask;
+
+    /**
+     * Instantiate by finding all line segments which are collinear with four or more points from a valid set of points.
+     *
+     * @param points array to find line segments in.
+     * @throws IllegalArgumentException if a coordinate is outside [0, 32767] or a point is repeated.
+     */
+    public HashCollinearPoints(Point[] points) {
+        Objects.requireNonNull(points);
+        int n = points.length;
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            Point p = Objects.requireNonNull(points[i]);
+            xs[i] = p.x();
+            ys[i] = p.y();
+            if (!inRange(xs[i]) || !inRange(ys[i])) {
+                throw new IllegalArgumentException(
+                        "Coordinates must lie in [0, " + PackedCollinearPoints.MAX_COORDINATE + "].");
+            }
+            positions[i] = ys[i] * (PackedCollinearPoints.MAX_COORDINATE + 1) + xs[i];  // same order as compareTo
+        }
+        if (hasRepeatedPositions(positions)) {
+            throw new IllegalArgumentException("Repeated points are contained in the array.");
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2 * n - 1, 1)) * 2;  // load factor at most 1/2
+        keys = new int[capacity];
+        stamps = new int[capacity];
+        sizes = new int[capacity];
+        lowest = new int[capacity];
+        highest = new int[capacity];
+        used = new int[Math.max(n - 1, 0)];
+        mask = capacity - 1;
+
+        lineSegments = findLineSegments(points, xs, ys, positions);
+    }
+
+    private static boolean inRange(int coordinate) {
+        return coordinate >= 0 && coordinate <= PackedCollinearPoints.MAX_COORDINATE;
+    }
+
+    private static boolean hasRepeatedPositions(int[] positions) {
+        int[] sorted = positions.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] == sorted[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds all line segments which are collinear with four or more points, each reported by the origin which is its
+     * lowest point.
+     *
+     * @return array of all line segments found.
+     */
+    private LineSegment[] findLineSegments(Point[] points, int[] xs, int[] ys, int[] positions) {
+        List<LineSegment> found = new ArrayList<>();
+        for (int origin = 0; origin < points.length; origin++) {
+            int stamp = origin + 1;
+            int buckets = 0;
+            for (int j = 0; j < points.length; j++) {
+                if (j == origin) {
+                    continue;
+                }
+                int key = PackedCollinearPoints.slopeKey(xs[j] - xs[origin], ys[j] - ys[origin]);
+                int slot = slot(key, stamp);
+                if (stamps[slot] != stamp) {
+                    stamps[slot] = stamp;
+                    keys[slot] = key;
+                    sizes[slot] = 1;
+                    lowest[slot] = positions[j];
+                    highest[slot] = j;
+                    used[buckets++] = slot;
+                } else {
+                    sizes[slot]++;
+                    lowest[slot] = Math.min(lowest[slot], positions[j]);
+                    if (positions[j] > positions[highest[slot]]) {
+                        highest[slot] = j;
+                    }
+                }
+            }
+            for (int b = 0; b < buckets; b++) {
+                int slot = used[b];
+                // Enough points, and the origin is the lowest of them? Prevents sub-segments from being added.
+                if (sizes[slot] >= MIN_OTHER_COLLINEAR_POINTS && positions[origin] < lowest[slot]) {
+                    found.add(new LineSegment(points[origin], points[highest[slot]]));
+                }
+            }
+        }
+        return found.toArray(new LineSegment[found.size()]);
+    }
+
+    // slot holding key for the current origin, or the empty slot where it belongs (linear probing)
+    private int slot(int key, int stamp) {
+        int h = key * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (stamps[slot] == stamp && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Number of line segments that were found based on given points.
+     *
+     * @return number of line segments.
+     */
+    public int numberOfSegments() {
+        return lineSegments.length;
+    }
+
+    /**
+     * Line segments that were found based on given points.
+     *
+     * @return array of line segments found.
+     */
+    public LineSegment[] segments() {
+        return lineSegments.clone();
+    }
+}
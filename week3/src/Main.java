@@ -1,4 +1,3 @@
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.StdDraw;
 import edu.princeton.cs.algs4.StdOut;
 
@@ -14,7 +13,7 @@ import java.awt.*;
 public class Main {
     public static void main(String[] args) {
     // read the n points from a file
-        In in = new In(args[0]);
+        FastIn in = new FastIn(args[0]);
         int n = in.readInt();
         Point[] points = new Point[n];
         for (int i = 0; i < n; i++) {
@@ -35,7 +34,7 @@ public class Main {
 
         // print and draw the line segments
         //BruteCollinearPoints collinear = new BruteCollinearPoints(points);
-        FastCollinearPoints collinear = new FastCollinearPoints(points);
+        FastCollinearPoints collinear = new FastCollinearPoints(points, Runtime.getRuntime().availableProcessors());
         for (LineSegment segment : collinear.segments()) {
             StdOut.println(segment);
             segment.draw();
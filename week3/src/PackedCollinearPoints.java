@@ -0,0 +1,244 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Finds the same line segments as {@link FastCollinearPoints}, but keeps the points as two coordinate arrays and
+ * sorts primitive keys instead of {@code Point} objects, so the search itself allocates nothing per point.
+ * <p>
+ * The points are sorted by position once. Then, for every origin, each other point gets one long key: the slope to
+ * the origin reduced to lowest terms (which is exact, with no division) in the high half and the point's position
+ * rank in the low half. One primitive sort brings the points of every slope together, ordered by position, and the
+ * same sliding window as in FastCollinearPoints picks out the segments that start at the origin.
+ * <p>
+ * Segments are kept as pairs of point indices; {@link #segments()} only builds {@code LineSegment} objects when it is
+ * called. Coordinates must lie in [0, 32767], as in the assignment, which is what lets a reduced slope fit in 31 bits.
+ * The segments are the same as FastCollinearPoints finds, but among the segments of one origin the order differs.
+ */
+public class PackedCollinearPoints {
+
+    // The largest coordinate allowed.
+    static final int MAX_COORDINATE = 32767;
+
+    // The minimum number of "other" collinear points needed for line segment to exist. "Origin" point excluded.
+    private static final int MIN_OTHER_COLLINEAR_POINTS = 3;
+
+    private final int[] xs;
+    private final int[] ys;
+
+    // Segment k runs from point endpoints[2k] to point endpoints[2k + 1].
+    private int[] endpoints = new int[16];
+    private int count;
+
+    // Built on the first call to segments().
+    private LineSegment[] lineSegments;
+
+    /**
+     * Instantiate by finding all line segments which are collinear with four or more points from a valid set of points.
+     *
+     * @param points array to find line segments in.
+     */
+    public PackedCollinearPoints(Point[] points) {
+        this(coordinates(points, true), coordinates(points, false));
+    }
+
+    /**
+     * Instantiate by finding all line segments which are collinear with four or more points, point i being
+     * (xs[i], ys[i]).
+     *
+     * @param xs the x-coordinates of the points.
+     * @param ys the y-coordinates of the points.
+     * @throws IllegalArgumentException if the arrays differ in length, a coordinate is outside [0, 32767] or a
+     *                                  point is repeated.
+     */
+    public PackedCollinearPoints(int[] xs, int[] ys) {
+        Objects.requireNonNull(xs);
+        Objects.requireNonNull(ys);
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length.");
+        }
+        this.xs = xs.clone();  // cloning to prevent mutation by the caller.
+        this.ys = ys.clone();
+        for (int i = 0; i < xs.length; i++) {
+            if (!inRange(this.xs[i]) || !inRange(this.ys[i])) {
+                throw new IllegalArgumentException("Coordinates must lie in [0, " + MAX_COORDINATE + "].");
+            }
+        }
+
+        int[] rank = rankByPosition();
+        findLineSegments(rank);
+    }
+
+    private static int[] coordinates(Point[] points, boolean x) {
+        Objects.requireNonNull(points);
+        int[] coordinates = new int[points.length];
+        for (int i = 0; i < points.length; i++) {
+            Objects.requireNonNull(points[i]);
+            coordinates[i] = x ? points[i].x() : points[i].y();
+        }
+        return coordinates;
+    }
+
+    private static boolean inRange(int coordinate) {
+        return coordinate >= 0 && coordinate <= MAX_COORDINATE;
+    }
+
+    /**
+     * Sorts the points by position (by y, then by x, as Point.compareTo) and checks for repeated points.
+     *
+     * @return rank[i] = position of point i in that order.
+     */
+    private int[] rankByPosition() {
+        int n = xs.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (long) position(i) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] rank = new int[n];
+        for (int r = 0; r < n; r++) {
+            if (r > 0 && keys[r] >>> 32 == keys[r - 1] >>> 32) {
+                throw new IllegalArgumentException("Repeated points are contained in the array.");
+            }
+            rank[(int) keys[r]] = r;
+        }
+        return rank;
+    }
+
+    private int position(int i) {
+        return ys[i] * (MAX_COORDINATE + 1) + xs[i];
+    }
+
+    /**
+     * Finds all line segments which are collinear with four or more points, each reported by the origin which is its
+     * lowest point.
+     *
+     * @param rank position rank of every point.
+     */
+    private void findLineSegments(int[] rank) {
+        int n = xs.length;
+        int[] byRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            byRank[rank[i]] = i;
+        }
+        long[] keys = new long[Math.max(n - 1, 0)];
+        for (int origin = 0; origin < n; origin++) {
+            int k = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != origin) {
+                    keys[k++] = (long) slopeKey(xs[j] - xs[origin], ys[j] - ys[origin]) << 32 | rank[j];
+                }
+            }
+            Arrays.sort(keys);
+
+            // Scan runs of equal slope; within a run the points are in position order.
+            int first = 0;
+            for (int i = 1; i <= keys.length; i++) {
+                if (i < keys.length && keys[i] >>> 32 == keys[first] >>> 32) {
+                    continue;
+                }
+                // Enough points, and the origin is the lowest of them? Prevents sub-segments from being added.
+                if (i - first >= MIN_OTHER_COLLINEAR_POINTS && rank[origin] < (int) keys[first]) {
+                    add(origin, byRank[(int) keys[i - 1]]);
+                }
+                first = i;
+            }
+        }
+    }
+
+    /**
+     * Exact key of the slope (dy, dx) between two distinct points with coordinates in [0, 32767]: the fraction
+     * reduced to lowest terms with dx > 0, or dx = 0 and dy = 1 for vertical lines, so two slopes are equal if and
+     * only if their keys are. The key is a non-negative int.
+     */
+    static int slopeKey(int dx, int dy) {
+        if (dx < 0 || (dx == 0 && dy < 0)) {
+            dx = -dx;
+            dy = -dy;
+        }
+        int g = gcd(dx, Math.abs(dy));
+        dx /= g;
+        dy /= g;
+        return (dy + MAX_COORDINATE) << 15 | dx;  // dy + 32767 takes 16 bits, dx takes 15
+    }
+
+    // binary gcd of two non-negative ints that are not both 0
+    private static int gcd(int a, int b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        int shift = Integer.numberOfTrailingZeros(a | b);
+        a >>= Integer.numberOfTrailingZeros(a);
+        while (b != 0) {
+            b >>= Integer.numberOfTrailingZeros(b);
+            if (a > b) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        }
+        return a << shift;
+    }
+
+    private void add(int start, int end) {
+        if (2 * count == endpoints.length) {
+            endpoints = Arrays.copyOf(endpoints, 2 * endpoints.length);
+        }
+        endpoints[2 * count] = start;
+        endpoints[2 * count + 1] = end;
+        count++;
+    }
+
+    /**
+     * Number of line segments that were found based on given points.
+     *
+     * @return number of line segments.
+     */
+    public int numberOfSegments() {
+        return count;
+    }
+
+    /**
+     * Index of the first (lowest) point of a line segment.
+     *
+     * @param k the segment, in [0, numberOfSegments()).
+     * @return index of the point in the input.
+     */
+    public int start(int k) {
+        checkSegment(k);
+        return endpoints[2 * k];
+    }
+
+    /**
+     * Index of the last (highest) point of a line segment.
+     *
+     * @param k the segment, in [0, numberOfSegments()).
+     * @return index of the point in the input.
+     */
+    public int end(int k) {
+        checkSegment(k);
+        return endpoints[2 * k + 1];
+    }
+
+    private void checkSegment(int k) {
+        if (k < 0 || k >= count) {
+            throw new IndexOutOfBoundsException("segment " + k + " of " + count);
+        }
+    }
+
+    /**
+     * Line segments that were found based on given points, built on the first call.
+     *
+     * @return array of line segments found.
+     */
+    public LineSegment[] segments() {
+        if (lineSegments == null) {
+            lineSegments = new LineSegment[count];
+            for (int k = 0; k < count; k++) {
+                int p = endpoints[2 * k];
+                int q = endpoints[2 * k + 1];
+                lineSegments[k] = new LineSegment(new Point(xs[p], ys[p]), new Point(xs[q], ys[q]));
+            }
+        }
+        return lineSegments.clone();
+    }
+}
@@ -1,11 +1,17 @@
 import edu.princeton.cs.algs4.StdDraw;
 
+import java.math.BigInteger;
 import java.util.Comparator;
 
 public class Point implements Comparable<Point> {
     private final int x;     // x-coordinate of this point
     private final int y;     // y-coordinate of this point
 
+    // kinds of slope, in increasing order: to the point itself, finite (including horizontal), vertical
+    private static final int DEGENERATE = 0;
+    private static final int FINITE = 1;
+    private static final int VERTICAL = 2;
+
     /**
      * Initializes a new point.
      *
@@ -17,6 +23,24 @@ public class Point implements Comparable<Point> {
         this.y = y;
     }
 
+    /**
+     * Returns the x-coordinate of this point, for the detectors that store coordinates in arrays.
+     *
+     * @return the <em>x</em>-coordinate of the point
+     */
+    int x() {
+        return x;
+    }
+
+    /**
+     * Returns the y-coordinate of this point, for the detectors that store coordinates in arrays.
+     *
+     * @return the <em>y</em>-coordinate of the point
+     */
+    int y() {
+        return y;
+    }
+
     /**
      * Draws this point to standard draw.
      */
@@ -97,7 +121,52 @@ public class Point implements Comparable<Point> {
      * @return the Comparator that defines this ordering on points
      */
     public Comparator<Point> slopeOrder() {
-        return Comparator.comparingDouble(this::slopeTo);
+        return this::compareSlopes;
+    }
+
+    /**
+     * Compares the slopes that p and q make with this point, in the order of slopeTo() but exactly: the slopes are
+     * compared as fractions by cross-multiplication, so there is no division and no rounding.
+     *
+     * @param p the first point
+     * @param q the second point
+     * @return a negative integer, zero, or a positive integer as the slope to p is less than, equal to, or greater
+     * than the slope to q
+     */
+    int compareSlopes(Point p, Point q) {
+        long dy1 = (long) p.y - y;
+        long dx1 = (long) p.x - x;
+        long dy2 = (long) q.y - y;
+        long dx2 = (long) q.x - x;
+        int kind1 = slopeKind(dy1, dx1);
+        int kind2 = slopeKind(dy2, dx2);
+        if (kind1 != kind2 || kind1 != FINITE) {
+            return Integer.compare(kind1, kind2);
+        }
+        // make the denominators positive, so dy1 / dx1 < dy2 / dx2 if and only if dy1 * dx2 < dy2 * dx1
+        if (dx1 < 0) {
+            dx1 = -dx1;
+            dy1 = -dy1;
+        }
+        if (dx2 < 0) {
+            dx2 = -dx2;
+            dy2 = -dy2;
+        }
+        if (fitsInt(dy1) && fitsInt(dx1) && fitsInt(dy2) && fitsInt(dx2)) {
+            return Long.compare(dy1 * dx2, dy2 * dx1);
+        }
+        // coordinate differences beyond the int range would overflow the products
+        return BigInteger.valueOf(dy1).multiply(BigInteger.valueOf(dx2))
+                .compareTo(BigInteger.valueOf(dy2).multiply(BigInteger.valueOf(dx1)));
+    }
+
+    private static int slopeKind(long dy, long dx) {
+        if (dx != 0) return FINITE;
+        return dy == 0 ? DEGENERATE : VERTICAL;
+    }
+
+    private static boolean fitsInt(long value) {
+        return value == (int) value;
     }
 
     /**
@@ -1,17 +1,26 @@
 import edu.princeton.cs.algs4.Stack;
-import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Objects;
 
 /**
  * Created by Paul Galushkin on 01/06/2017.
  */
 public class Board {
     private final int[][] blocks;
+    private final RandomSource random;  // picks the blocks swapped by twin(); shared with derived boards
 
     // construct a board from an n-by-n array of blocks
     // (where blocks[i][j] = block in row i, column j)
     // You may assume that the constructor receives an n-by-n array containing the n2 integers between 0 and n2 − 1,
     // where 0 represents the blank square.
     public Board(int[][] blocks) {
+        this(blocks, RandomSource.threadLocal());
+    }
+
+    // construct a board whose twin() draws its random choices from random
+    public Board(int[][] blocks, RandomSource random) {
+        Objects.requireNonNull(random);
+        this.random = random;
         this.blocks = new int[blocks.length][blocks.length];
         for (int i = 0; i < blocks.length; i++) {
             this.blocks[i] = blocks[i].clone();
@@ -154,9 +163,9 @@ public class Board {
         int randJ;
         int[] randIJNeighbor;
         do {
-            randI = StdRandom.uniform(dimension());
-            randJ = StdRandom.uniform(dimension());
-            Direction dir = Direction.getDirection(StdRandom.uniform(4));
+            randI = random.uniform(dimension());
+            randJ = random.uniform(dimension());
+            Direction dir = Direction.getDirection(random.uniform(4));
             randIJNeighbor = Direction.getNeighboringBlockIndex(randI, randJ, dir);
         } while (!inBounds(randIJNeighbor[0], randIJNeighbor[1]) ||
                 (blocks[randI][randJ] == 0) ||
@@ -165,7 +174,7 @@ public class Board {
         int[][] twin = copyBlocks();
         swapBlocks(twin, randI, randJ, randIJNeighbor[0], randIJNeighbor[1]);
 
-        return new Board(twin);
+        return new Board(twin, random);
     }
 
     // does this board equal y?
@@ -211,7 +220,7 @@ public class Board {
             if (inBounds(neighboringBlockToBlank[0], neighboringBlockToBlank[1])) {
                 int[][] neighbor = copyBlocks();
                 swapBlocks(neighbor, blankBlockI, blankBlockJ, neighboringBlockToBlank[0], neighboringBlockToBlank[1]);
-                neighbors.push(new Board(neighbor));
+                neighbors.push(new Board(neighbor, random));
             }
         }
         return neighbors;
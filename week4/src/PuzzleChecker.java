@@ -25,7 +25,6 @@
  *
  ******************************************************************************/
 
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.StdOut;
 
 public class PuzzleChecker {
@@ -36,7 +35,7 @@ public class PuzzleChecker {
         for (String filename : args) {
 
             // read in the board specified in the filename
-            In in = new In(filename);
+            FastIn in = new FastIn(filename);
             int n = in.readInt();
             int[][] tiles = new int[n][n];
             for (int i = 0; i < n; i++) {
@@ -1,4 +1,3 @@
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.MinPQ;
 import edu.princeton.cs.algs4.Stack;
 import edu.princeton.cs.algs4.StdOut;
@@ -93,7 +92,7 @@ public class Solver {
 
     public static void main(String[] args) {
         // create initial board from file
-        In in = new In(args[0]);
+        FastIn in = new FastIn(args[0]);
         int n = in.readInt();
         int[][] blocks = new int[n][n];
         for (int i = 0; i < n; i++)
@@ -11,7 +11,6 @@
  *
  ******************************************************************************/
 
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.Point2D;
 import edu.princeton.cs.algs4.StdDraw;
 
@@ -19,7 +18,7 @@ public class NearestNeighborVisualizer {
 
     public static void main(String[] args) {
         String filename = "c:\\projects_Java\\IdeaProjects\\CourseraAlgorithms\\week5\\kdtree\\circle4.txt";//args[0];
-        In in = new In(filename);
+        FastIn in = new FastIn(filename);
 
         StdDraw.enableDoubleBuffering();
 
@@ -12,7 +12,6 @@
  *
  ******************************************************************************/
 
-import edu.princeton.cs.algs4.In;
 import edu.princeton.cs.algs4.Point2D;
 import edu.princeton.cs.algs4.RectHV;
 import edu.princeton.cs.algs4.StdDraw;
@@ -22,7 +21,7 @@ public class RangeSearchVisualizer {
     public static void main(String[] args) {
 
         String filename = "c:\\projects_Java\\IdeaProjects\\CourseraAlgorithms\\week5\\kdtree\\circle10.txt";//args[0];
-        In in = new In(filename);
+        FastIn in = new FastIn(filename);
 
         StdDraw.enableDoubleBuffering();
 